@@ -6,7 +6,7 @@ public class CalendarComponent {
     private ImageButton prevButton, nextButton;
     private RecyclerView contributionGrid;
     private UltraSimpleAdapter contributionAdapter;
-    private org.json.JSONObject submissionCalendarData;
+    private SubmissionIndex submissionIndex = SubmissionIndex.EMPTY;
     
     public void setupCalendar() {
         currentCalendar = Calendar.getInstance();
@@ -87,10 +87,9 @@ public class CalendarComponent {
         }
         
         // Add days of the month with submission data
+        long firstEpochDay = SubmissionIndex.epochDay(cal.get(Calendar.YEAR), cal.get(Calendar.MONTH), 1);
         for (int day = 1; day <= daysInMonth; day++) {
-            cal.set(Calendar.DAY_OF_MONTH, day);
-            int submissions = getSubmissionsForDay(cal, day);
-            data.add(submissions);
+            data.add(submissionIndex.getCount(firstEpochDay + day - 1));
         }
         
         // Fill remaining cells to complete the grid
@@ -102,61 +101,7 @@ public class CalendarComponent {
         return data;
     }
     
-    private int getSubmissionsForDay(Calendar dayCalendar, int day) {
-        // Use real data if available
-        if (submissionCalendarData != null) {
-            try {
-                // Create timestamp for the day
-                Calendar localCal = (Calendar) dayCalendar.clone();
-                localCal.set(Calendar.DAY_OF_MONTH, day);
-                localCal.set(Calendar.HOUR_OF_DAY, 0);
-                localCal.set(Calendar.MINUTE, 0);
-                localCal.set(Calendar.SECOND, 0);
-                localCal.set(Calendar.MILLISECOND, 0);
-                
-                long localTimestamp = localCal.getTimeInMillis() / 1000;
-                String localKey = String.valueOf(localTimestamp);
-                
-                // Try multiple timezone variations
-                String[] possibleKeys = {
-                    localKey,
-                    String.valueOf(localTimestamp + 19800),   // +5:30 hours (IST timezone)
-                    String.valueOf(localTimestamp - 19800),   // -5:30 hours
-                    String.valueOf(localTimestamp + 86400),   // +1 day
-                    String.valueOf(localTimestamp - 86400),   // -1 day
-                };
-                
-                for (String key : possibleKeys) {
-                    if (submissionCalendarData.has(key)) {
-                        int submissions = submissionCalendarData.getInt(key);
-                        if (submissions > 0) {
-                            return submissions;
-                        }
-                    }
-                }
-                
-            } catch (Exception e) {
-                // Error getting submissions for day
-            }
-        }
-        
-        return 0;
-    }
-    
     private boolean hasSubmissionsForMonth(int month, int year) {
-        if (submissionCalendarData == null) {
-            return false;
-        }
-        
-        // Use cached data if available
-        if (monthsWithDataCache == null) {
-            buildMonthsWithDataCache();
-        }
-        
-        String[] monthNames = {"January", "February", "March", "April", "May", "June",
-                             "July", "August", "September", "October", "November", "December"};
-        String monthKey = monthNames[month] + " " + year;
-        
-        return monthsWithDataCache.contains(monthKey);
+        return submissionIndex.hasSubmissionsInMonth(year, month);
     }
 }
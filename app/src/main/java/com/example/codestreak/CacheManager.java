@@ -3,40 +3,60 @@ package com.example.codestreak;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.util.Log;
+import com.example.codestreak.cache.DiskObjectCache;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Centralized cache management for the CodeStreak app
  * Handles caching of API responses, user data, and app state
+ * Object caches are stored in DiskObjectCache (memory LRU + one file per key);
+ * small scalar values stay in SharedPreferences.
  */
 public class CacheManager {
     private static final String TAG = "CacheManager";
-    private static final String CACHE_PREFS = "cache_preferences";
+    private static final String CACHE_PREFS = "cache_preferences"; // Legacy object store, migrated to DiskObjectCache
     private static final String USER_DATA_PREFS = "user_data_cache";
     private static final String API_CACHE_PREFS = "api_cache";
     
     // Cache expiration times (in milliseconds)
     private static final long LEETCODE_DATA_CACHE_DURATION = TimeUnit.HOURS.toMillis(6); // 6 hours
-    private static final long DAILY_GOALS_CACHE_DURATION = TimeUnit.HOURS.toMillis(24); // 24 hours
     private static final long USER_STATS_CACHE_DURATION = TimeUnit.HOURS.toMillis(2); // 2 hours
     private static final long SUBMISSION_CACHE_DURATION = TimeUnit.HOURS.toMillis(1); // 1 hour
     
+    // Callbacks waiting on a background refresh, keyed by cache key (one refresh per key)
+    private static final Map<String, List<LeetCodeAPI.LeetCodeCallback>> inFlightRefreshes = new HashMap<>();
+    
     private final Context context;
     private final Gson gson;
-    private final SharedPreferences cachePrefs;
+    private final DiskObjectCache objectCache;
     private final SharedPreferences userDataPrefs;
     private final SharedPreferences apiCachePrefs;
     
     public CacheManager(Context context) {
         this.context = context;
         this.gson = new Gson();
-        this.cachePrefs = context.getSharedPreferences(CACHE_PREFS, Context.MODE_PRIVATE);
+        this.objectCache = DiskObjectCache.getInstance(context);
         this.userDataPrefs = context.getSharedPreferences(USER_DATA_PREFS, Context.MODE_PRIVATE);
         this.apiCachePrefs = context.getSharedPreferences(API_CACHE_PREFS, Context.MODE_PRIVATE);
+        clearLegacyCachePrefs();
+    }
+    
+    /**
+     * Drop the old SharedPreferences blob store so it no longer gets parsed on startup
+     */
+    private void clearLegacyCachePrefs() {
+        SharedPreferences legacyPrefs = context.getSharedPreferences(CACHE_PREFS, Context.MODE_PRIVATE);
+        if (!legacyPrefs.getAll().isEmpty()) {
+            legacyPrefs.edit().clear().apply();
+            Log.d(TAG, "Cleared legacy cache preferences");
+        }
     }
     
     // Generic cache methods
@@ -47,12 +67,7 @@ public class CacheManager {
     public <T> void cacheObject(String key, T object, long durationMs) {
         try {
             String json = gson.toJson(object);
-            long expirationTime = System.currentTimeMillis() + durationMs;
-            
-            cachePrefs.edit()
-                    .putString(key + "_data", json)
-                    .putLong(key + "_expiration", expirationTime)
-                    .apply();
+            objectCache.put(key, json, durationMs);
             
             Log.d(TAG, "Cached object with key: " + key + ", expires in: " + (durationMs / 1000) + " seconds");
         } catch (Exception e) {
@@ -65,17 +80,14 @@ public class CacheManager {
      */
     public <T> T getCachedObject(String key, Class<T> clazz) {
         try {
-            long expirationTime = cachePrefs.getLong(key + "_expiration", 0);
-            
-            if (System.currentTimeMillis() > expirationTime) {
-                Log.d(TAG, "Cache expired for key: " + key);
-                return null;
-            }
-            
-            String json = cachePrefs.getString(key + "_data", null);
-            if (json != null) {
+            DiskObjectCache.Entry entry = objectCache.get(key);
+            if (entry != null) {
+                if (entry.isExpired(System.currentTimeMillis())) {
+                    Log.d(TAG, "Cache expired for key: " + key);
+                    return null;
+                }
                 Log.d(TAG, "Cache hit for key: " + key);
-                return gson.fromJson(json, clazz);
+                return gson.fromJson(entry.value, clazz);
             }
         } catch (Exception e) {
             Log.e(TAG, "Error retrieving cached object with key: " + key, e);
@@ -86,21 +98,83 @@ public class CacheManager {
     }
     
     /**
-     * Retrieve cached list if not expired
+     * Retrieve cached object even if it has expired (stale-while-revalidate reads)
+     * @return the cached value with its staleness, or null if nothing is cached
      */
-    public <T> List<T> getCachedList(String key, Type typeToken) {
+    public <T> CachedValue<T> getCachedObjectAllowStale(String key, Class<T> clazz) {
         try {
-            long expirationTime = cachePrefs.getLong(key + "_expiration", 0);
-            
-            if (System.currentTimeMillis() > expirationTime) {
-                Log.d(TAG, "Cache expired for key: " + key);
-                return null;
+            DiskObjectCache.Entry entry = objectCache.get(key);
+            if (entry != null) {
+                boolean stale = entry.isExpired(System.currentTimeMillis());
+                Log.d(TAG, (stale ? "Stale cache hit for key: " : "Cache hit for key: ") + key);
+                return new CachedValue<>(gson.fromJson(entry.value, clazz), stale);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error retrieving cached object with key: " + key, e);
+        }
+        
+        Log.d(TAG, "Cache miss for key: " + key);
+        return null;
+    }
+    
+    /**
+     * Refresh a cached API response in the background.
+     * Concurrent refreshes of the same key share a single request; every waiting
+     * callback receives the result and a successful response is written to the cache.
+     */
+    public void revalidate(String key, long durationMs, RefreshRequest request,
+                           LeetCodeAPI.LeetCodeCallback callback) {
+        synchronized (inFlightRefreshes) {
+            List<LeetCodeAPI.LeetCodeCallback> waiters = inFlightRefreshes.get(key);
+            if (waiters != null) {
+                Log.d(TAG, "Joining in-flight refresh for key: " + key);
+                waiters.add(callback);
+                return;
+            }
+            waiters = new ArrayList<>();
+            waiters.add(callback);
+            inFlightRefreshes.put(key, waiters);
+        }
+        
+        Log.d(TAG, "Starting background refresh for key: " + key);
+        request.execute(new LeetCodeAPI.LeetCodeCallback() {
+            @Override
+            public void onSuccess(String response) {
+                cacheObject(key, response, durationMs);
+                for (LeetCodeAPI.LeetCodeCallback waiter : finishRefresh(key)) {
+                    waiter.onSuccess(response);
+                }
             }
             
-            String json = cachePrefs.getString(key + "_data", null);
-            if (json != null) {
+            @Override
+            public void onError(Exception error) {
+                for (LeetCodeAPI.LeetCodeCallback waiter : finishRefresh(key)) {
+                    waiter.onError(error);
+                }
+            }
+        });
+    }
+    
+    private static List<LeetCodeAPI.LeetCodeCallback> finishRefresh(String key) {
+        synchronized (inFlightRefreshes) {
+            List<LeetCodeAPI.LeetCodeCallback> waiters = inFlightRefreshes.remove(key);
+            return waiters != null ? waiters : new ArrayList<>();
+        }
+    }
+    
+    /**
+     * Retrieve cached list if not expired
+     */
+    public <T> List<T> getCachedList(String key, Type typeToken) {
+        try {
+            DiskObjectCache.Entry entry = objectCache.get(key);
+            if (entry != null) {
+                if (entry.isExpired(System.currentTimeMillis())) {
+                    Log.d(TAG, "Cache expired for key: " + key);
+                    return null;
+                }
                 Log.d(TAG, "Cache hit for key: " + key);
-                return gson.fromJson(json, typeToken);
+                return gson.fromJson(entry.value, typeToken);
             }
         } catch (Exception e) {
             Log.e(TAG, "Error retrieving cached list with key: " + key, e);
@@ -127,11 +201,86 @@ public class CacheManager {
     }
     
     /**
-     * Cache daily goals
+     * Get the cached raw user stats response, stale or not
+     */
+    public CachedValue<String> getCachedUserSubmissionStats(String username) {
+        return getCachedObjectAllowStale(userSubmissionStatsKey(username), String.class);
+    }
+    
+    /**
+     * Fetch fresh user stats through LeetCodeAPI and cache the raw response
+     */
+    public void refreshUserSubmissionStats(String username, LeetCodeAPI api,
+                                           LeetCodeAPI.LeetCodeCallback callback) {
+        revalidate(userSubmissionStatsKey(username), LEETCODE_DATA_CACHE_DURATION,
+                cb -> api.getUserSubmissionStats(username, cb), callback);
+    }
+    
+    private static String userSubmissionStatsKey(String username) {
+        return "user_submission_stats_" + username.toLowerCase();
+    }
+    
+    /**
+     * Get a response behind the daily goal cards ("challenge", "easy", "medium"),
+     * from cache if it was fetched today (UTC, when LeetCode rolls the daily challenge)
+     * and from the network otherwise
+     */
+    public void getDailyGoalResponse(String kind, RefreshRequest request, LeetCodeAPI.LeetCodeCallback callback) {
+        String cached = getCachedObject(dailyGoalResponseKey(kind), String.class);
+        if (cached != null) {
+            callback.onSuccess(cached);
+            return;
+        }
+        refreshDailyGoalResponse(kind, request, callback);
+    }
+    
+    /**
+     * Background variant of getDailyGoalResponse: fetches only what today's cache lacks,
+     * so the random picks stay the same all day. A newly fetched response makes the
+     * cached goal list out of date, so that list is dropped and rebuilt on next open.
+     */
+    public void prefetchDailyGoalResponse(String kind, RefreshRequest request, LeetCodeAPI.LeetCodeCallback callback) {
+        String cached = getCachedObject(dailyGoalResponseKey(kind), String.class);
+        if (cached != null) {
+            callback.onSuccess(cached);
+            return;
+        }
+        refreshDailyGoalResponse(kind, request, new LeetCodeAPI.LeetCodeCallback() {
+            @Override
+            public void onSuccess(String response) {
+                clearCache("daily_goals");
+                callback.onSuccess(response);
+            }
+            
+            @Override
+            public void onError(Exception error) {
+                callback.onError(error);
+            }
+        });
+    }
+    
+    /**
+     * Fetch a daily goal response and cache it until the next UTC midnight
+     */
+    private void refreshDailyGoalResponse(String kind, RefreshRequest request, LeetCodeAPI.LeetCodeCallback callback) {
+        revalidate(dailyGoalResponseKey(kind), untilNextUtcMidnight(), request, callback);
+    }
+    
+    private static long untilNextUtcMidnight() {
+        long msPerDay = TimeUnit.DAYS.toMillis(1);
+        return msPerDay - System.currentTimeMillis() % msPerDay;
+    }
+    
+    private static String dailyGoalResponseKey(String kind) {
+        return "daily_goal_response_" + kind;
+    }
+    
+    /**
+     * Cache daily goals until the next UTC midnight, when the responses they were built from expire
      */
     public void cacheDailyGoals(List<?> goals) {
         Type listType = new TypeToken<List<?>>(){}.getType();
-        cacheObject("daily_goals", goals, DAILY_GOALS_CACHE_DURATION);
+        cacheObject("daily_goals", goals, untilNextUtcMidnight());
     }
     
     /**
@@ -232,10 +381,7 @@ public class CacheManager {
      * Clear specific cache entry
      */
     public void clearCache(String key) {
-        cachePrefs.edit()
-                .remove(key + "_data")
-                .remove(key + "_expiration")
-                .apply();
+        objectCache.remove(key);
         Log.d(TAG, "Cleared cache for key: " + key);
     }
     
@@ -244,7 +390,7 @@ public class CacheManager {
      */
     public void clearAllApiCaches() {
         apiCachePrefs.edit().clear().apply();
-        cachePrefs.edit().clear().apply();
+        objectCache.clear();
         Log.d(TAG, "Cleared all API caches");
     }
     
@@ -269,15 +415,15 @@ public class CacheManager {
      * Check if a specific cache entry is valid
      */
     public boolean isCacheValid(String key) {
-        long expirationTime = cachePrefs.getLong(key + "_expiration", 0);
-        return System.currentTimeMillis() < expirationTime;
+        DiskObjectCache.Entry entry = objectCache.get(key);
+        return entry != null && !entry.isExpired(System.currentTimeMillis());
     }
     
     /**
      * Get cache size information
      */
     public String getCacheInfo() {
-        int cacheEntries = cachePrefs.getAll().size() / 2; // Each entry has data + expiration
+        int cacheEntries = objectCache.getEntryCount();
         int userDataEntries = userDataPrefs.getAll().size();
         int apiCacheEntries = apiCachePrefs.getAll().size();
         
@@ -285,6 +431,26 @@ public class CacheManager {
                 cacheEntries, userDataEntries, apiCacheEntries);
     }
     
+    /**
+     * Issues the network request used to refresh a cache entry
+     */
+    public interface RefreshRequest {
+        void execute(LeetCodeAPI.LeetCodeCallback callback);
+    }
+    
+    /**
+     * A cached value and whether it has passed its expiration time
+     */
+    public static class CachedValue<T> {
+        public final T value;
+        public final boolean stale;
+        
+        public CachedValue(T value, boolean stale) {
+            this.value = value;
+            this.stale = stale;
+        }
+    }
+    
     // Simple data classes for caching
     public static class LeetCodeUserStats {
         public int totalSolved;
@@ -0,0 +1,19 @@
+package com.example.codestreak;
+
+import android.app.Application;
+
+import com.example.codestreak.network.HttpClientProvider;
+import com.example.codestreak.worker.DashboardSyncWorker;
+
+/**
+ * CodeStreakApplication - Process-wide setup shared by all screens
+ */
+public class CodeStreakApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        HttpClientProvider.init(this);
+        DashboardSyncWorker.schedule(this);
+    }
+}
@@ -1,20 +1,80 @@
 package com.example.codestreak;
 
+import com.example.codestreak.network.CircuitBreaker;
+import com.example.codestreak.network.GraphQLBatcher;
+import com.example.codestreak.network.HttpClientProvider;
+import com.example.codestreak.network.HttpStatusException;
+import com.example.codestreak.network.ResilientCall;
+import com.example.codestreak.network.RetryPolicy;
+import com.example.codestreak.network.SingleFlight;
 import org.json.JSONObject;
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import okhttp3.*;
 
 public class LeetCodeAPI {
     
     private static final String LEETCODE_GRAPHQL_URL = "https://leetcode.com/graphql";
-    private final OkHttpClient client;
+    private static final String LEETCODE_STATS_URL = "https://leetcode-stats-api.herokuapp.com/";
     
-    public LeetCodeAPI() {
-        client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .build();
+    // Queries issued within this window (from any instance) go out as one aliased request
+    private static final long BATCH_WINDOW_MS = 25;
+    private static final int MAX_BATCH_SIZE = 8;
+    private static final GraphQLBatcher batcher =
+            new GraphQLBatcher(BATCH_WINDOW_MS, MAX_BATCH_SIZE, LeetCodeAPI::postGraphQL);
+    
+    // Identical requests share one call; a success also answers repeats for a short while
+    private static final long DEFAULT_MEMO_WINDOW_MS = 10_000;
+    private static final SingleFlight singleFlight = new SingleFlight(DEFAULT_MEMO_WINDOW_MS);
+    
+    /**
+     * Change how long a successful response is reused for identical requests
+     * @param memoWindowMs window in milliseconds, 0 to only share in-flight calls
+     */
+    public static void setMemoWindowMs(long memoWindowMs) {
+        singleFlight.setMemoWindowMs(memoWindowMs);
+    }
+    
+    /**
+     * Kinds of request, each with its own retry policy
+     */
+    public enum QueryType {
+        USER_PROFILE,
+        USER_STATS,
+        PROBLEM_LIST,
+        DAILY_CHALLENGE,
+        RANDOM_PROBLEM
+    }
+    
+    // One attempt never hangs longer than this, whatever the connect/read timeouts allow
+    private static final long ATTEMPT_TIMEOUT_MS = 12_000;
+    
+    // Every request is a read, so all of them may be retried
+    private static final Map<QueryType, RetryPolicy> retryPolicies = new EnumMap<>(QueryType.class);
+    static {
+        retryPolicies.put(QueryType.USER_PROFILE, new RetryPolicy(3, 500, 4000, 20_000));
+        retryPolicies.put(QueryType.USER_STATS, new RetryPolicy(3, 500, 4000, 20_000));
+        retryPolicies.put(QueryType.PROBLEM_LIST, new RetryPolicy(3, 1000, 8000, 30_000));
+        retryPolicies.put(QueryType.DAILY_CHALLENGE, new RetryPolicy(3, 500, 4000, 15_000));
+        // Dashboard filler; not worth waiting long for
+        retryPolicies.put(QueryType.RANDOM_PROBLEM, new RetryPolicy(2, 500, 2000, 8_000));
+    }
+    
+    // One breaker per backend: 5 failures in a row stop requests for 30 seconds
+    private static final CircuitBreaker leetCodeBreaker = new CircuitBreaker("leetcode.com", 5, 30_000);
+    private static final CircuitBreaker statsApiBreaker = new CircuitBreaker("leetcode-stats-api", 5, 30_000);
+    
+    /**
+     * Replace the retry policy used for one kind of request
+     */
+    public static synchronized void setRetryPolicy(QueryType type, RetryPolicy policy) {
+        retryPolicies.put(type, policy);
+    }
+    
+    private static synchronized RetryPolicy retryPolicyFor(QueryType type) {
+        return retryPolicies.get(type);
     }
     
     public interface LeetCodeCallback {
@@ -48,7 +108,7 @@ public class LeetCodeAPI {
                 "  }\n" +
                 "}";
         
-        makeGraphQLRequest(query, callback);
+        makeGraphQLRequest(query, QueryType.USER_PROFILE, callback);
     }
     
     /**
@@ -86,7 +146,7 @@ public class LeetCodeAPI {
                 "  }\n" +
                 "}";
         
-        makeGraphQLRequest(query, callback);
+        makeGraphQLRequest(query, QueryType.PROBLEM_LIST, callback);
     }
     
     /**
@@ -120,7 +180,7 @@ public class LeetCodeAPI {
                 "  }\n" +
                 "}";
         
-        makeGraphQLRequest(query, callback);
+        makeGraphQLRequest(query, QueryType.DAILY_CHALLENGE, callback);
     }
     
     /**
@@ -150,7 +210,7 @@ public class LeetCodeAPI {
                 "  }\n" +
                 "}";
         
-        makeGraphQLRequest(query, callback);
+        makeGraphQLRequest(query, QueryType.RANDOM_PROBLEM, callback);
     }
     
     /**
@@ -183,7 +243,7 @@ public class LeetCodeAPI {
                 "  }\n" +
                 "}";
         
-        makeGraphQLRequest(query, callback);
+        makeGraphQLRequest(query, QueryType.PROBLEM_LIST, callback);
     }
     
     /**
@@ -211,10 +271,53 @@ public class LeetCodeAPI {
                 "  }\n" +
                 "}";
         
-        makeGraphQLRequest(query, callback);
+        makeGraphQLRequest(query, QueryType.USER_STATS, callback);
     }
     
-    private void makeGraphQLRequest(String query, LeetCodeCallback callback) {
+    /**
+     * Get solved counts and acceptance rate from the public stats API
+     * @param username The LeetCode username
+     * @param callback Callback to handle response
+     */
+    public void getPublicStats(String username, LeetCodeCallback callback) {
+        String url = LEETCODE_STATS_URL + username;
+        ResilientCall.execute(retryPolicyFor(QueryType.USER_STATS), statsApiBreaker,
+                (timeoutMs, attempt) -> singleFlight.execute(url, timeoutMs, attempt, LeetCodeAPI::getJson), callback);
+    }
+    
+    /**
+     * Send a prepared leetcode.com request through the same circuit breaker as every
+     * other LeetCode call, retried as the policy allows. Unlike the queries above it is
+     * neither batched nor shared; callers that want that coalesce their own requests.
+     * @return a handle that cancels the call; the callback is not invoked after it
+     */
+    public static ResilientCall.Cancellable execute(Request request, RetryPolicy policy, LeetCodeCallback callback) {
+        return ResilientCall.execute(policy, leetCodeBreaker,
+                (timeoutMs, attempt) -> enqueue(request, timeoutMs, attempt), callback);
+    }
+    
+    /**
+     * Whether calls to leetcode.com go out freely, i.e. its circuit breaker is closed.
+     * Speculative requests check this so they never become the breaker's probe.
+     */
+    public static boolean isLeetCodeAvailable() {
+        return leetCodeBreaker.isClosed();
+    }
+    
+    private void makeGraphQLRequest(String query, QueryType type, LeetCodeCallback callback) {
+        ResilientCall.execute(retryPolicyFor(type), leetCodeBreaker,
+                (timeoutMs, attempt) -> singleFlight.execute(query, timeoutMs, attempt, batcher::enqueue), callback);
+    }
+    
+    private static ResilientCall.Cancellable getJson(String url, long timeoutMs, LeetCodeCallback callback) {
+        Request request = HttpClientProvider.withTimeouts(new Request.Builder(), 10, 10)
+                .url(url)
+                .get()
+                .build();
+        return enqueue(request, timeoutMs, callback);
+    }
+    
+    private static ResilientCall.Cancellable postGraphQL(String query, long timeoutMs, LeetCodeCallback callback) {
         try {
             JSONObject json = new JSONObject();
             json.put("query", query);
@@ -224,32 +327,44 @@ public class LeetCodeAPI {
                     MediaType.get("application/json; charset=utf-8")
             );
             
-            Request request = new Request.Builder()
+            // Short per-attempt timeouts; the retry layer decides whether to try again
+            Request request = HttpClientProvider.withTimeouts(new Request.Builder(), 5, 10)
                     .url(LEETCODE_GRAPHQL_URL)
                     .post(body)
                     .addHeader("Content-Type", "application/json")
                     .addHeader("User-Agent", "CodeStreak-Android-App")
                     .build();
-            
-            client.newCall(request).enqueue(new Callback() {
-                @Override
-                public void onFailure(Call call, IOException e) {
-                    callback.onError(e);
-                }
-                
-                @Override
-                public void onResponse(Call call, Response response) throws IOException {
-                    if (response.isSuccessful()) {
-                        String responseBody = response.body().string();
-                        callback.onSuccess(responseBody);
-                    } else {
-                        callback.onError(new Exception("HTTP " + response.code() + ": " + response.message()));
-                    }
-                }
-            });
+            return enqueue(request, timeoutMs, callback);
             
         } catch (Exception e) {
             callback.onError(e);
+            return ResilientCall.Cancellable.NONE;
         }
     }
+    
+    /**
+     * Run one attempt of a request, limited to the time its deadline leaves
+     */
+    private static ResilientCall.Cancellable enqueue(Request request, long timeoutMs, LeetCodeCallback callback) {
+        Call call = HttpClientProvider.get().newCall(request);
+        call.timeout().timeout(Math.min(ATTEMPT_TIMEOUT_MS, timeoutMs), TimeUnit.MILLISECONDS);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                callback.onError(e);
+            }
+            
+            @Override
+            public void onResponse(Call call, Response response) throws IOException {
+                try (Response closing = response) {
+                    if (closing.isSuccessful() && closing.body() != null) {
+                        callback.onSuccess(closing.body().string());
+                    } else {
+                        callback.onError(new HttpStatusException(closing.code(), closing.message()));
+                    }
+                }
+            }
+        });
+        return call::cancel;
+    }
 }
@@ -55,6 +55,9 @@ import androidx.appcompat.widget.SwitchCompat;
 import com.google.android.material.button.MaterialButton;
 
 import com.bumptech.glide.Glide;
+import com.example.codestreak.stats.StreakEngine;
+import com.example.codestreak.stats.SubmissionIndex;
+import com.example.codestreak.worker.SyncMetrics;
 
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -120,10 +123,16 @@ public class ModernMainActivity extends BaseActivity {
     
     // Cache manager for performance optimization
     private CacheManager cacheManager;
+    private final java.util.concurrent.ExecutorService statsParseExecutor =
+            java.util.concurrent.Executors.newSingleThreadExecutor();
     
     // Add submission calendar data and caching like MainActivity
-    private org.json.JSONObject submissionCalendarData;
-    private java.util.Set<String> monthsWithDataCache = null;
+    private volatile SubmissionIndex submissionIndex = SubmissionIndex.EMPTY;
+    // Kept across refreshes so new days are appended instead of recomputing every streak
+    private StreakEngine streakEngine;
+    private String streakEngineUsername;
+    private long streakEngineFirstDay;
+    private String streakEngineZoneId;
     
     // Developer mode activation (tap welcome text 7 times)
     private int welcomeTextClickCount = 0;
@@ -1238,9 +1247,10 @@ public class ModernMainActivity extends BaseActivity {
         } else {
             System.out.println("DEBUG: Same date - checking if goals exist");
             
-            // Same date, but check if we have goals cached
+            // Same date, but check if we have goals cached; the background sync drops the
+            // goal list when it fetches a new day's challenge, so rebuild it then
             List<DailyGoal> cachedGoals = loadCachedGoals();
-            if (cachedGoals.isEmpty()) {
+            if (cachedGoals.isEmpty() || !cacheManager.isCacheValid("daily_goals")) {
                 System.out.println("DEBUG: No cached goals found - fetching fresh goals");
                 fetchDailyGoalsFromAPI();
             } else {
@@ -1394,8 +1404,8 @@ public class ModernMainActivity extends BaseActivity {
         
         LeetCodeAPI api = new LeetCodeAPI();
         
-        // Try to get daily challenge first
-        api.getDailyCodingChallenge(new LeetCodeAPI.LeetCodeCallback() {
+        // Try to get daily challenge first (pre-fetched by DashboardSyncWorker when possible)
+        cacheManager.getDailyGoalResponse("challenge", api::getDailyCodingChallenge, new LeetCodeAPI.LeetCodeCallback() {
             @Override
             public void onSuccess(String response) {
                 System.out.println("DEBUG: Daily challenge API success");
@@ -1464,7 +1474,7 @@ public class ModernMainActivity extends BaseActivity {
         LeetCodeAPI api = new LeetCodeAPI();
         
         // Fetch an easy problem for warm-up
-        api.getRandomProblem("Easy", new LeetCodeAPI.LeetCodeCallback() {
+        cacheManager.getDailyGoalResponse("easy", cb -> api.getRandomProblem("Easy", cb), new LeetCodeAPI.LeetCodeCallback() {
             @Override
             public void onSuccess(String response) {
                 runOnUiThread(() -> {
@@ -1518,7 +1528,7 @@ public class ModernMainActivity extends BaseActivity {
         LeetCodeAPI api = new LeetCodeAPI();
         
         // Fetch a medium problem for challenge
-        api.getRandomProblem("Medium", new LeetCodeAPI.LeetCodeCallback() {
+        cacheManager.getDailyGoalResponse("medium", cb -> api.getRandomProblem("Medium", cb), new LeetCodeAPI.LeetCodeCallback() {
             @Override
             public void onSuccess(String response) {
                 runOnUiThread(() -> {
@@ -1719,10 +1729,10 @@ public class ModernMainActivity extends BaseActivity {
         }
         
         // Add days of the month with submission data
+        SubmissionIndex index = submissionIndex;
+        long firstEpochDay = SubmissionIndex.epochDay(cal.get(Calendar.YEAR), cal.get(Calendar.MONTH), 1);
         for (int day = 1; day <= daysInMonth; day++) {
-            cal.set(Calendar.DAY_OF_MONTH, day);
-            int submissions = getSubmissionsForDay(cal, day);
-            data.add(submissions);
+            data.add(index.getCount(firstEpochDay + day - 1));
         }
         
         // Fill remaining cells to complete the grid
@@ -1734,104 +1744,12 @@ public class ModernMainActivity extends BaseActivity {
         return data;
     }
     
-    private int getSubmissionsForDay(Calendar dayCalendar, int day) {
-        // Use real data if available
-        if (submissionCalendarData != null) {
-            try {
-                // Create timestamp for the day
-                Calendar localCal = (Calendar) dayCalendar.clone();
-                localCal.set(Calendar.DAY_OF_MONTH, day);
-                localCal.set(Calendar.HOUR_OF_DAY, 0);
-                localCal.set(Calendar.MINUTE, 0);
-                localCal.set(Calendar.SECOND, 0);
-                localCal.set(Calendar.MILLISECOND, 0);
-                
-                long localTimestamp = localCal.getTimeInMillis() / 1000;
-                String localKey = String.valueOf(localTimestamp);
-                
-                // Try multiple timezone variations
-                String[] possibleKeys = {
-                    localKey,
-                    String.valueOf(localTimestamp + 19800),   // +5:30 hours (IST timezone)
-                    String.valueOf(localTimestamp - 19800),   // -5:30 hours
-                    String.valueOf(localTimestamp + 86400),   // +1 day
-                    String.valueOf(localTimestamp - 86400),   // -1 day
-                };
-                
-                for (String key : possibleKeys) {
-                    if (submissionCalendarData.has(key)) {
-                        int submissions = submissionCalendarData.getInt(key);
-                        if (submissions > 0) {
-                            return submissions;
-                        }
-                    }
-                }
-                
-            } catch (Exception e) {
-                // Error getting submissions for day
-            }
-        }
-        
-        return 0;
-    }
-    
     /**
-     * Dynamically check if the given month has any submission data
-     * Uses caching to improve performance and reduce iterations
+     * Check if the given month has any submission data
+     * Backed by the precomputed per-month totals in SubmissionIndex
      */
     private boolean hasSubmissionsForMonth(int month, int year) {
-        if (submissionCalendarData == null) {
-            return false;
-        }
-        
-        // Use cached data if available
-        if (monthsWithDataCache == null) {
-            buildMonthsWithDataCache();
-        }
-        
-        String[] monthNames = {"January", "February", "March", "April", "May", "June",
-                             "July", "August", "September", "October", "November", "December"};
-        String monthKey = monthNames[month] + " " + year;
-        
-        return monthsWithDataCache.contains(monthKey);
-    }
-    
-    /**
-     * Build cache of months that have submission data
-     * This reduces the number of iterations through submission data
-     */
-    private void buildMonthsWithDataCache() {
-        monthsWithDataCache = new java.util.HashSet<>();
-        
-        if (submissionCalendarData == null) {
-            return;
-        }
-        
-        String[] monthNames = {"January", "February", "March", "April", "May", "June",
-                             "July", "August", "September", "October", "November", "December"};
-        
-        try {
-            java.util.Iterator<String> keys = submissionCalendarData.keys();
-            while (keys.hasNext()) {
-                String timestampStr = keys.next();
-                long timestamp = Long.parseLong(timestampStr);
-                int submissions = submissionCalendarData.getInt(timestampStr);
-                
-                if (submissions > 0) {
-                    java.util.Date date = new java.util.Date(timestamp * 1000);
-                    Calendar cal = Calendar.getInstance();
-                    cal.setTime(date);
-                    int year = cal.get(Calendar.YEAR);
-                    int month = cal.get(Calendar.MONTH);
-                    
-                    String monthKey = monthNames[month] + " " + year;
-                    monthsWithDataCache.add(monthKey);
-                }
-            }
-        } catch (Exception e) {
-            // Error building cache, use empty set
-            monthsWithDataCache = new java.util.HashSet<>();
-        }
+        return submissionIndex.hasSubmissionsInMonth(year, month);
     }
     
     // Popup methods (similar to existing implementation)
@@ -2019,42 +1937,25 @@ public class ModernMainActivity extends BaseActivity {
             return;
         }
         
+        // Stale-while-revalidate: paint the last known response right away
+        CacheManager.CachedValue<String> cachedStats = cacheManager.getCachedUserSubmissionStats(username);
+        if (cachedStats != null && cachedStats.value != null) {
+            System.out.println("DEBUG: Rendering " + (cachedStats.stale ? "stale" : "fresh") + " cached LeetCode data");
+            applyUserStatsResponse(cachedStats.value);
+            if (!cachedStats.stale) {
+                return;
+            }
+        }
+        
         System.out.println("DEBUG: Fetching LeetCode data for username: " + username);
         
-        leetCodeAPI.getUserSubmissionStats(username, new LeetCodeAPI.LeetCodeCallback() {
+        cacheManager.refreshUserSubmissionStats(username, leetCodeAPI, new LeetCodeAPI.LeetCodeCallback() {
             @Override
             public void onSuccess(String response) {
                 System.out.println("DEBUG: LeetCode API Success! Response length: " + response.length());
                 System.out.println("DEBUG: Response preview: " + response.substring(0, Math.min(300, response.length())) + "...");
                 
-                // Move heavy data processing to background thread
-                new Thread(new Runnable() {
-                    @Override
-                    public void run() {
-                        try {
-                            parseAndUpdateData(response);
-                            
-                            // Update UI on the main thread
-                            runOnUiThread(new Runnable() {
-                                @Override
-                                public void run() {
-                                    updateStats(); // This will now show the real LeetCode username
-                                    updatePieChart();
-                                    updateContributionGrid();
-                                }
-                            });
-                        } catch (Exception e) {
-                            System.err.println("DEBUG: Error parsing LeetCode data: " + e.getMessage());
-                            e.printStackTrace();
-                            runOnUiThread(new Runnable() {
-                                @Override
-                                public void run() {
-                                    updateContributionGrid();
-                                }
-                            });
-                        }
-                    }
-                }).start();
+                applyUserStatsResponse(response);
             }
             
             @Override
@@ -2072,12 +1973,54 @@ public class ModernMainActivity extends BaseActivity {
         });
     }
     
+    /**
+     * Parse a user stats response off the main thread and push it to the UI
+     * Responses are parsed in arrival order so a refresh always lands after the cached paint
+     */
+    private void applyUserStatsResponse(String response) {
+        // Refreshes can finish after onDestroy, e.g. when a background sync started them
+        if (isDestroyed() || statsParseExecutor.isShutdown()) {
+            return;
+        }
+        
+        // Move heavy data processing to background thread
+        try {
+            statsParseExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        parseAndUpdateData(response);
+                    
+                        // Update UI on the main thread
+                        runOnUiThread(new Runnable() {
+                            @Override
+                            public void run() {
+                                updateStats(); // This will now show the real LeetCode username
+                                updatePieChart();
+                                updateContributionGrid();
+                            }
+                        });
+                    } catch (Exception e) {
+                        System.err.println("DEBUG: Error parsing LeetCode data: " + e.getMessage());
+                        e.printStackTrace();
+                        runOnUiThread(new Runnable() {
+                            @Override
+                            public void run() {
+                                updateContributionGrid();
+                            }
+                        });
+                    }
+                }
+            });
+        } catch (java.util.concurrent.RejectedExecutionException e) {
+            // Shut down between the check above and execute; the activity is gone
+            android.util.Log.d("ModernMainActivity", "Dropping stats response after onDestroy");
+        }
+    }
+    
     private void parseAndUpdateData(String jsonResponse) throws Exception {
         System.out.println("DEBUG: Starting to parse LeetCode response...");
         
-        // Clear cache for fresh data
-        monthsWithDataCache = null;
-        
         org.json.JSONObject response = new org.json.JSONObject(jsonResponse);
         org.json.JSONObject data = response.getJSONObject("data");
         org.json.JSONObject matchedUser = data.getJSONObject("matchedUser");
@@ -2107,11 +2050,12 @@ public class ModernMainActivity extends BaseActivity {
         
         // Parse submissionCalendar
         String submissionCalendarString = matchedUser.getString("submissionCalendar");
-        submissionCalendarData = new org.json.JSONObject(submissionCalendarString);
+        org.json.JSONObject submissionCalendarData = new org.json.JSONObject(submissionCalendarString);
+        submissionIndex = SubmissionIndex.fromCalendar(submissionCalendarData, java.util.TimeZone.getDefault());
         System.out.println("DEBUG: Parsed submission calendar with " + submissionCalendarData.length() + " entries");
         
         // Calculate streaks from submission calendar
-        calculateStreaksFromCalendar();
+        calculateStreaksFromCalendar(realUsername);
         
         // Parse problem counts
         org.json.JSONObject submitStats = matchedUser.getJSONObject("submitStats");
@@ -2172,139 +2116,39 @@ public class ModernMainActivity extends BaseActivity {
     
     /**
      * Calculate current and longest streak from submission calendar
+     * Reuses the previous StreakEngine for the same user so a refresh only applies new days.
+     * Appending cannot remove days, so the engine is rebuilt when days drop out of LeetCode's
+     * rolling window (the first day moves) or the days are bucketed in another time zone.
      */
-    private void calculateStreaksFromCalendar() {
-        if (submissionCalendarData == null || submissionCalendarData.length() == 0) {
+    private void calculateStreaksFromCalendar(String username) {
+        SubmissionIndex index = submissionIndex;
+        if (index.isEmpty()) {
             System.out.println("DEBUG: No submission data available for streak calculation");
             currentStreak = 0;
             longestStreak = 0;
             return;
         }
         
-        try {
-            // Get all timestamps and sort them
-            java.util.List<Long> timestamps = new java.util.ArrayList<>();
-            java.util.Iterator<String> keys = submissionCalendarData.keys();
-            
-            while (keys.hasNext()) {
-                String key = keys.next();
-                long timestamp = Long.parseLong(key);
-                timestamps.add(timestamp);
-            }
-            
-            if (timestamps.isEmpty()) {
-                currentStreak = 0;
-                longestStreak = 0;
-                return;
-            }
-            
-            // Sort in descending order (most recent first)
-            java.util.Collections.sort(timestamps, java.util.Collections.reverseOrder());
-            
-            // Calculate current streak
-            Calendar today = Calendar.getInstance();
-            today.set(Calendar.HOUR_OF_DAY, 0);
-            today.set(Calendar.MINUTE, 0);
-            today.set(Calendar.SECOND, 0);
-            today.set(Calendar.MILLISECOND, 0);
-            long todayTimestamp = today.getTimeInMillis() / 1000;
-            
-            Calendar yesterday = (Calendar) today.clone();
-            yesterday.add(Calendar.DAY_OF_YEAR, -1);
-            long yesterdayTimestamp = yesterday.getTimeInMillis() / 1000;
-            
-            currentStreak = 0;
-            boolean streakActive = false;
-            
-            // Check if there's a submission today or yesterday to start the streak
-            for (long ts : timestamps) {
-                Calendar subDate = Calendar.getInstance();
-                subDate.setTimeInMillis(ts * 1000);
-                subDate.set(Calendar.HOUR_OF_DAY, 0);
-                subDate.set(Calendar.MINUTE, 0);
-                subDate.set(Calendar.SECOND, 0);
-                subDate.set(Calendar.MILLISECOND, 0);
-                long subTimestamp = subDate.getTimeInMillis() / 1000;
-                
-                if (subTimestamp == todayTimestamp || subTimestamp == yesterdayTimestamp) {
-                    streakActive = true;
-                    break;
-                }
-            }
-            
-            if (streakActive) {
-                // Count consecutive days
-                java.util.Set<Long> uniqueDays = new java.util.HashSet<>();
-                for (long ts : timestamps) {
-                    Calendar subDate = Calendar.getInstance();
-                    subDate.setTimeInMillis(ts * 1000);
-                    subDate.set(Calendar.HOUR_OF_DAY, 0);
-                    subDate.set(Calendar.MINUTE, 0);
-                    subDate.set(Calendar.SECOND, 0);
-                    subDate.set(Calendar.MILLISECOND, 0);
-                    uniqueDays.add(subDate.getTimeInMillis() / 1000);
-                }
-                
-                java.util.List<Long> sortedDays = new java.util.ArrayList<>(uniqueDays);
-                java.util.Collections.sort(sortedDays, java.util.Collections.reverseOrder());
-                
-                Calendar checkDate = Calendar.getInstance();
-                checkDate.set(Calendar.HOUR_OF_DAY, 0);
-                checkDate.set(Calendar.MINUTE, 0);
-                checkDate.set(Calendar.SECOND, 0);
-                checkDate.set(Calendar.MILLISECOND, 0);
-                
-                for (long dayTimestamp : sortedDays) {
-                    long expectedTimestamp = checkDate.getTimeInMillis() / 1000;
-                    if (dayTimestamp == expectedTimestamp) {
-                        currentStreak++;
-                        checkDate.add(Calendar.DAY_OF_YEAR, -1);
-                    } else {
-                        break;
-                    }
-                }
-            }
-            
-            // Calculate longest streak
-            java.util.Set<Long> uniqueDays = new java.util.HashSet<>();
-            for (long ts : timestamps) {
-                Calendar subDate = Calendar.getInstance();
-                subDate.setTimeInMillis(ts * 1000);
-                subDate.set(Calendar.HOUR_OF_DAY, 0);
-                subDate.set(Calendar.MINUTE, 0);
-                subDate.set(Calendar.SECOND, 0);
-                subDate.set(Calendar.MILLISECOND, 0);
-                uniqueDays.add(subDate.getTimeInMillis() / 1000);
-            }
-            
-            java.util.List<Long> allDays = new java.util.ArrayList<>(uniqueDays);
-            java.util.Collections.sort(allDays);
-            
-            int tempStreak = 1;
-            longestStreak = 1;
-            
-            for (int i = 1; i < allDays.size(); i++) {
-                long dayDiff = (allDays.get(i) - allDays.get(i - 1)) / 86400; // Convert to days
-                
-                if (dayDiff == 1) {
-                    tempStreak++;
-                    longestStreak = Math.max(longestStreak, tempStreak);
-                } else {
-                    tempStreak = 1;
-                }
-            }
-            
-            // Cache the streak data
-            cacheManager.cacheStreakData(currentStreak, longestStreak);
-            
-            System.out.println("DEBUG: Calculated streaks - Current: " + currentStreak + ", Longest: " + longestStreak);
-            
-        } catch (Exception e) {
-            System.err.println("DEBUG: Error calculating streaks: " + e.getMessage());
-            e.printStackTrace();
-            currentStreak = 0;
-            longestStreak = 0;
+        long[] activeDays = index.getActiveDays();
+        String zoneId = index.getTimeZone().getID();
+        if (streakEngine == null || !username.equals(streakEngineUsername)
+                || activeDays[0] != streakEngineFirstDay || !zoneId.equals(streakEngineZoneId)) {
+            streakEngine = StreakEngine.fromDays(activeDays);
+            streakEngineUsername = username;
+            streakEngineFirstDay = activeDays[0];
+            streakEngineZoneId = zoneId;
+        } else {
+            int newDays = streakEngine.appendDays(activeDays);
+            System.out.println("DEBUG: Applied " + newDays + " new active days to streak engine");
         }
+        
+        currentStreak = streakEngine.getCurrentStreak(index.today());
+        longestStreak = streakEngine.getLongestStreak();
+        
+        // Cache the streak data
+        cacheManager.cacheStreakData(currentStreak, longestStreak);
+        
+        System.out.println("DEBUG: Calculated streaks - Current: " + currentStreak + ", Longest: " + longestStreak);
     }
     
     private void updateStats() {
@@ -2364,6 +2208,12 @@ public class ModernMainActivity extends BaseActivity {
         checkAndRefreshDailyGoals();
     }
     
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        statsParseExecutor.shutdown();
+    }
+    
     @Override
     public void onBackPressed() {
         if (drawerLayout.isDrawerOpen(GravityCompat.START)) {
@@ -2773,6 +2623,7 @@ public class ModernMainActivity extends BaseActivity {
                 } else {
                     status += " • Goals expired";
                 }
+                status += " • " + new SyncMetrics(this).getSummary(System.currentTimeMillis());
                 
                 cacheStatusText.setText(status);
             });
@@ -22,13 +22,9 @@ import com.google.android.material.button.MaterialButton;
 import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.chip.Chip;
 
+import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
-
 public class ProfileActivity extends BaseActivity {
 
     private TextView usernameText, fullNameText, rankText, reputationText;
@@ -163,39 +159,34 @@ public class ProfileActivity extends BaseActivity {
     private void fetchLeetCodeData() {
         showSkeleton(true);
         
-        new Thread(() -> {
-            try {
-                String apiUrl = "https://leetcode-stats-api.herokuapp.com/" + username;
-                URL url = new URL(apiUrl);
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setRequestMethod("GET");
-                connection.setConnectTimeout(10000);
-                connection.setReadTimeout(10000);
-
-                BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                StringBuilder response = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
+        // Shared with the other screens: an identical in-flight or just-finished request is reused
+        new LeetCodeAPI().getPublicStats(username, new LeetCodeAPI.LeetCodeCallback() {
+            @Override
+            public void onSuccess(String response) {
+                JSONObject jsonResponse;
+                try {
+                    jsonResponse = new JSONObject(response);
+                } catch (JSONException e) {
+                    onError(e);
+                    return;
                 }
-                reader.close();
-
-                JSONObject jsonResponse = new JSONObject(response.toString());
                 
                 runOnUiThread(() -> {
                     showSkeleton(false);
                     updateUI(jsonResponse);
                 });
-
-            } catch (Exception e) {
-                e.printStackTrace();
+            }
+            
+            @Override
+            public void onError(Exception error) {
+                error.printStackTrace();
                 runOnUiThread(() -> {
                     showSkeleton(false);
                     Toast.makeText(ProfileActivity.this, "Failed to load profile data", Toast.LENGTH_SHORT).show();
                     loadLocalData();
                 });
             }
-        }).start();
+        });
     }
 
     private void updateUI(JSONObject data) {
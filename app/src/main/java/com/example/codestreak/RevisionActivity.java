@@ -1,7 +1,6 @@
 package com.example.codestreak;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.ImageView;
@@ -10,7 +9,10 @@ import android.widget.TextView;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
-import java.util.ArrayList;
+import com.example.codestreak.problems.DetailPrefetcher;
+import com.example.codestreak.problems.PagedProblemList;
+import com.example.codestreak.problems.Problem;
+import com.example.codestreak.problems.RevisionStore;
 import java.util.List;
 
 public class RevisionActivity extends AppCompatActivity {
@@ -20,7 +22,10 @@ public class RevisionActivity extends AppCompatActivity {
     private TextView problemCountText;
     private ImageView backButton;
     private ProblemsActivity.ProblemsAdapter adapter;
-    private List<ProblemsActivity.Problem> starredProblems;
+    private DetailPrefetcher detailPrefetcher;
+    private List<Problem> starredProblems;
+    // Stars the list was loaded for; the list is only reloaded once they change
+    private RevisionStore.StarredIds loadedStars;
     
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -36,12 +41,22 @@ public class RevisionActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
-        // Refresh the list when returning from problem detail
+        // Refresh the list when stars changed, e.g. in problem detail
+        if (RevisionStore.getInstance(this).starredIds() == loadedStars) {
+            return;
+        }
         loadStarredProblems();
-        adapter.notifyDataSetChanged();
+        adapter.submitList(PagedProblemList.of(starredProblems));
+        detailPrefetcher.onListChanged();
         updateProblemCount();
     }
     
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        detailPrefetcher.release();
+    }
+    
     private void initializeViews() {
         recyclerView = findViewById(R.id.recyclerView);
         emptyStateLayout = findViewById(R.id.emptyStateText);
@@ -52,52 +67,9 @@ public class RevisionActivity extends AppCompatActivity {
     }
     
     private void loadStarredProblems() {
-        starredProblems = new ArrayList<>();
-        SharedPreferences prefs = getSharedPreferences("CodeStreakPrefs", MODE_PRIVATE);
-        
-        String starredList = prefs.getString("starred_problems_list", "");
-        
-        if (!starredList.isEmpty()) {
-            String[] problemIds = starredList.split(",");
-            
-            for (String idStr : problemIds) {
-                try {
-                    int problemId = Integer.parseInt(idStr.trim());
-                    
-                    // Retrieve problem details from SharedPreferences
-                    String title = prefs.getString("starred_title_" + problemId, "Unknown Problem");
-                    String difficulty = prefs.getString("starred_difficulty_" + problemId, "Medium");
-                    float acceptance = prefs.getFloat("starred_acceptance_" + problemId, 0.0f);
-                    String titleSlug = prefs.getString("starred_slug_" + problemId, "");
-                    String companies = prefs.getString("starred_companies_" + problemId, "");
-                    String topicsStr = prefs.getString("starred_topics_" + problemId, "");
-                    
-                    // Parse topics from comma-separated string
-                    List<String> topics = new ArrayList<>();
-                    if (!topicsStr.isEmpty()) {
-                        String[] topicsArray = topicsStr.split(",");
-                        for (String topic : topicsArray) {
-                            topics.add(topic.trim());
-                        }
-                    }
-                    
-                    // Create Problem object with titleSlug constructor
-                    ProblemsActivity.Problem problem = new ProblemsActivity.Problem(
-                        problemId,
-                        title,
-                        titleSlug,
-                        difficulty,
-                        acceptance,
-                        companies,
-                        topics
-                    );
-                    
-                    starredProblems.add(problem);
-                } catch (NumberFormatException e) {
-                    android.util.Log.e("RevisionActivity", "Invalid problem ID: " + idStr);
-                }
-            }
-        }
+        RevisionStore revisionStore = RevisionStore.getInstance(this);
+        loadedStars = revisionStore.starredIds();
+        starredProblems = revisionStore.getProblems();
         
         // Show or hide empty state
         if (starredProblems.isEmpty()) {
@@ -110,10 +82,18 @@ public class RevisionActivity extends AppCompatActivity {
     }
     
     private void setupRecyclerView() {
-        adapter = new ProblemsActivity.ProblemsAdapter(starredProblems);
+        adapter = new ProblemsActivity.ProblemsAdapter();
+        adapter.submitList(PagedProblemList.of(starredProblems));
         
-        recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        recyclerView.setLayoutManager(layoutManager);
         recyclerView.setAdapter(adapter);
+        
+        // Starred problems are opened often, so warm their details as they come into view
+        detailPrefetcher = DetailPrefetcher.attach(this, recyclerView, layoutManager, position -> {
+            PagedProblemList<Problem> shown = adapter.getCurrentList();
+            return position < shown.size() ? shown.get(position).getTitleSlug() : null;
+        });
     }
     
     private void updateProblemCount() {
@@ -27,16 +27,13 @@ import com.github.mikephil.charting.data.PieData;
 import com.github.mikephil.charting.data.PieDataSet;
 import com.github.mikephil.charting.data.PieEntry;
 import com.github.mikephil.charting.formatter.ValueFormatter;
+import com.example.codestreak.stats.SubmissionIndex;
 import com.google.android.material.card.MaterialCardView;
 
+import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.util.ArrayList;
-import java.util.List;
 
 import android.content.SharedPreferences;
 
@@ -149,40 +146,35 @@ public class StatisticsActivity extends BaseActivity {
     private void fetchStatistics() {
         showSkeleton(true);
         
-        new Thread(() -> {
-            try {
-                String apiUrl = "https://leetcode-stats-api.herokuapp.com/" + username;
-                URL url = new URL(apiUrl);
-                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-                connection.setRequestMethod("GET");
-                connection.setConnectTimeout(10000);
-                connection.setReadTimeout(10000);
-
-                BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                StringBuilder response = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
+        // Shared with the other screens: an identical in-flight or just-finished request is reused
+        new LeetCodeAPI().getPublicStats(username, new LeetCodeAPI.LeetCodeCallback() {
+            @Override
+            public void onSuccess(String response) {
+                JSONObject jsonResponse;
+                try {
+                    jsonResponse = new JSONObject(response);
+                } catch (JSONException e) {
+                    onError(e);
+                    return;
                 }
-                reader.close();
-
-                JSONObject jsonResponse = new JSONObject(response.toString());
                 
                 runOnUiThread(() -> {
                     showSkeleton(false);
                     updateStatistics(jsonResponse);
                     setupStreakChart(jsonResponse);
                 });
-
-            } catch (Exception e) {
-                e.printStackTrace();
+            }
+            
+            @Override
+            public void onError(Exception error) {
+                error.printStackTrace();
                 runOnUiThread(() -> {
                     showSkeleton(false);
                     Toast.makeText(StatisticsActivity.this, "Failed to load statistics", Toast.LENGTH_SHORT).show();
                     loadLocalData();
                 });
             }
-        }).start();
+        });
     }
 
     private void updateStatistics(JSONObject data) {
@@ -311,35 +303,12 @@ public class StatisticsActivity extends BaseActivity {
             if (data != null && data.has("submissionCalendar")) {
                 // Parse submission calendar from API
                 JSONObject calendar = data.getJSONObject("submissionCalendar");
+                SubmissionIndex index = SubmissionIndex.fromCalendar(calendar, java.util.TimeZone.getDefault());
                 
-                // Get timestamps from calendar and sort them
-                List<Long> timestamps = new ArrayList<>();
-                java.util.Iterator<String> keys = calendar.keys();
-                while (keys.hasNext()) {
-                    String key = keys.next();
-                    timestamps.add(Long.parseLong(key));
-                }
-                java.util.Collections.sort(timestamps);
-                
-                // Get current time and calculate last 7 days
-                long currentTime = System.currentTimeMillis() / 1000;
-                long oneDaySeconds = 86400;
-                
-                // Initialize counts for last 7 days
-                int[] dailyCounts = new int[7];
-                
-                // Count submissions for each of the last 7 days
-                for (Long timestamp : timestamps) {
-                    long daysAgo = (currentTime - timestamp) / oneDaySeconds;
-                    if (daysAgo >= 0 && daysAgo < 7) {
-                        int index = 6 - (int)daysAgo; // Reverse order (0 = oldest, 6 = today)
-                        dailyCounts[index] += calendar.getInt(String.valueOf(timestamp));
-                    }
-                }
-                
-                // Create entries from daily counts
+                // Create entries for the last 7 days (0 = oldest, 6 = today)
+                long today = index.today();
                 for (int i = 0; i < 7; i++) {
-                    entries.add(new Entry(i, dailyCounts[i]));
+                    entries.add(new Entry(i, index.getCount(today - 6 + i)));
                 }
                 
             } else {
@@ -0,0 +1,327 @@
+package com.example.codestreak.cache;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * DiskObjectCache - Two tier key/value cache used by CacheManager
+ * Keeps recently used entries in a bounded in-memory LRU and stores one file per key
+ * under the app cache directory, evicting least recently used files once the disk
+ * budget is exceeded. Entries carry their own expiration time; expired entries are
+ * still returned so callers can decide whether a stale value is usable.
+ */
+public final class DiskObjectCache {
+    private static final String TAG = "DiskObjectCache";
+    private static final String CACHE_DIR = "object_cache";
+    private static final String FILE_SUFFIX = ".entry";
+    private static final int FILE_MAGIC = 0x43534331; // "CSC1"
+
+    private static final int MEMORY_CACHE_CHARS = 512 * 1024; // ~1MB of UTF-16 chars
+    private static final long MAX_DISK_BYTES = 8L * 1024 * 1024; // 8MB
+
+    private static volatile DiskObjectCache instance;
+
+    private final File directory;
+    private final long maxDiskBytes;
+    private final LruCache<String, Entry> memoryCache;
+    // Entries handed to the writer thread but not yet on disk
+    private final Map<String, Entry> pendingWrites = new ConcurrentHashMap<>();
+    // File name -> size in bytes, kept in access order for disk eviction
+    private final LinkedHashMap<String, Long> diskIndex = new LinkedHashMap<>(16, 0.75f, true);
+    private final Executor writeExecutor;
+    private long diskBytes;
+    private boolean indexLoaded;
+
+    /**
+     * A cached value together with its absolute expiration time
+     */
+    public static final class Entry {
+        public final String value;
+        public final long expiresAt;
+
+        public Entry(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        public boolean isExpired(long now) {
+            return now > expiresAt;
+        }
+    }
+
+    public static DiskObjectCache getInstance(Context context) {
+        if (instance == null) {
+            synchronized (DiskObjectCache.class) {
+                if (instance == null) {
+                    File dir = new File(context.getApplicationContext().getCacheDir(), CACHE_DIR);
+                    instance = new DiskObjectCache(dir, MAX_DISK_BYTES, MEMORY_CACHE_CHARS);
+                }
+            }
+        }
+        return instance;
+    }
+
+    DiskObjectCache(File directory, long maxDiskBytes, int memoryCacheChars) {
+        this(directory, maxDiskBytes, memoryCacheChars, Executors.newSingleThreadExecutor());
+    }
+
+    DiskObjectCache(File directory, long maxDiskBytes, int memoryCacheChars, Executor writeExecutor) {
+        this.directory = directory;
+        this.maxDiskBytes = maxDiskBytes;
+        this.writeExecutor = writeExecutor;
+        this.memoryCache = new LruCache<String, Entry>(memoryCacheChars) {
+            @Override
+            protected int sizeOf(String key, Entry entry) {
+                return key.length() + entry.value.length();
+            }
+        };
+    }
+
+    /**
+     * Store a value that expires after ttlMs. The memory tier is updated immediately,
+     * the file is written on a background thread.
+     */
+    public void put(String key, String value, long ttlMs) {
+        Entry entry = new Entry(value, System.currentTimeMillis() + ttlMs);
+        memoryCache.put(key, entry);
+        pendingWrites.put(key, entry);
+        writeExecutor.execute(() -> writeToDisk(key, entry));
+    }
+
+    /**
+     * Look up a value, falling back to disk on a memory miss.
+     * @return the entry (possibly expired) or null if nothing is cached for the key
+     */
+    public Entry get(String key) {
+        Entry entry = memoryCache.get(key);
+        if (entry != null) {
+            return entry;
+        }
+
+        entry = pendingWrites.get(key);
+        if (entry != null) {
+            return entry;
+        }
+
+        return readFromDisk(key);
+    }
+
+    /**
+     * Remove a single key from both tiers. The key is gone for every later get right
+     * away, only deleting its file happens in the background.
+     */
+    public void remove(String key) {
+        String fileName = fileNameFor(key);
+        synchronized (this) {
+            memoryCache.remove(key);
+            pendingWrites.remove(key);
+            forget(fileName);
+        }
+        writeExecutor.execute(() -> deleteFile(fileName));
+    }
+
+    /**
+     * Drop every cached entry from both tiers. As with remove, only deleting the files
+     * happens in the background.
+     */
+    public void clear() {
+        synchronized (this) {
+            memoryCache.evictAll();
+            pendingWrites.clear();
+            // The files are about to go, so they must not be indexed later either
+            indexLoaded = true;
+            diskIndex.clear();
+            diskBytes = 0;
+        }
+        writeExecutor.execute(() -> {
+            File[] files = directory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    if (!file.delete()) {
+                        Log.w(TAG, "Failed to delete cache file: " + file.getName());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Number of entries currently stored on disk
+     */
+    public synchronized int getEntryCount() {
+        ensureIndexLoaded();
+        return diskIndex.size();
+    }
+
+    /**
+     * Total size of the on-disk tier in bytes
+     */
+    public synchronized long getDiskBytes() {
+        ensureIndexLoaded();
+        return diskBytes;
+    }
+
+    private void writeToDisk(String key, Entry entry) {
+        String fileName = fileNameFor(key);
+        File target = new File(directory, fileName);
+        File temp = new File(directory, fileName + ".tmp");
+
+        synchronized (this) {
+            // Only write the latest value if several puts were queued for this key, and
+            // nothing that was removed or cleared meanwhile
+            if (pendingWrites.get(key) != entry) {
+                return;
+            }
+            pendingWrites.remove(key);
+            ensureIndexLoaded();
+            if (!directory.exists() && !directory.mkdirs()) {
+                Log.e(TAG, "Unable to create cache directory: " + directory);
+                return;
+            }
+
+            byte[] bytes = entry.value.getBytes(StandardCharsets.UTF_8);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeLong(entry.expiresAt);
+                out.writeUTF(key);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } catch (IOException e) {
+                Log.e(TAG, "Error writing cache entry: " + key, e);
+                temp.delete();
+                return;
+            }
+
+            if (!temp.renameTo(target)) {
+                Log.e(TAG, "Error committing cache entry: " + key);
+                temp.delete();
+                return;
+            }
+
+            Long previous = diskIndex.put(fileName, target.length());
+            diskBytes += target.length() - (previous != null ? previous : 0);
+            trimToSize();
+        }
+    }
+
+    private Entry readFromDisk(String key) {
+        String fileName = fileNameFor(key);
+        File file = new File(directory, fileName);
+
+        synchronized (this) {
+            ensureIndexLoaded();
+            if (!diskIndex.containsKey(fileName)) {
+                return null;
+            }
+
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(new FileInputStream(file)))) {
+                if (in.readInt() != FILE_MAGIC) {
+                    throw new IOException("Bad cache file header");
+                }
+                long expiresAt = in.readLong();
+                String storedKey = in.readUTF();
+                if (!key.equals(storedKey)) {
+                    // Hash collision on the file name, treat as a miss
+                    return null;
+                }
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+
+                diskIndex.get(fileName); // bump access order
+                Entry entry = new Entry(new String(bytes, StandardCharsets.UTF_8), expiresAt);
+                // Under the lock, so a concurrent remove cannot be undone by this read
+                memoryCache.put(key, entry);
+                return entry;
+            } catch (IOException e) {
+                Log.w(TAG, "Discarding unreadable cache entry: " + key, e);
+                forget(fileName);
+                deleteFile(fileName);
+                return null;
+            }
+        }
+    }
+
+    // Callers hold the lock
+    private void forget(String fileName) {
+        ensureIndexLoaded();
+        Long size = diskIndex.remove(fileName);
+        if (size != null) {
+            diskBytes -= size;
+        }
+    }
+
+    private void deleteFile(String fileName) {
+        File file = new File(directory, fileName);
+        if (file.exists() && !file.delete()) {
+            Log.w(TAG, "Failed to delete cache file: " + fileName);
+        }
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, Long>> it = diskIndex.entrySet().iterator();
+        while (diskBytes > maxDiskBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            it.remove();
+            diskBytes -= eldest.getValue();
+            new File(directory, eldest.getKey()).delete();
+            Log.d(TAG, "Evicted cache file: " + eldest.getKey());
+        }
+    }
+
+    /**
+     * Build the disk index from the cache directory, oldest files first so that
+     * eviction order survives process restarts.
+     */
+    private void ensureIndexLoaded() {
+        if (indexLoaded) {
+            return;
+        }
+        indexLoaded = true;
+
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(FILE_SUFFIX)) {
+                diskIndex.put(name, file.length());
+                diskBytes += file.length();
+            } else {
+                // Leftover temp file from an interrupted write
+                file.delete();
+            }
+        }
+        trimToSize();
+    }
+
+    private static String fileNameFor(String key) {
+        String safe = key.replaceAll("[^A-Za-z0-9_-]", "_");
+        if (safe.length() > 64) {
+            safe = safe.substring(0, 64);
+        }
+        return safe + "_" + Integer.toHexString(key.hashCode()) + FILE_SUFFIX;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.codestreak.network;
+
+import android.util.Log;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * CircuitBreaker - Fails fast while a backend is unhealthy
+ * After a run of consecutive failures the breaker opens and rejects calls without
+ * touching the network. Once the cool-down has passed a single probe call is let
+ * through: its success closes the breaker again, its failure re-opens it. A probe that
+ * is abandoned without an outcome must be given back with {@link #releaseProbe()},
+ * otherwise no further call would ever be let through.
+ *
+ * One request can fail several callers at once, e.g. a batched or shared call hands
+ * the same error to each of them. Failures reported with their error are counted
+ * once per error instance, so one failed request is one failure.
+ */
+public final class CircuitBreaker {
+    private static final String TAG = "CircuitBreaker";
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * Answer to a caller asking to go out
+     */
+    public enum Permit {
+        REJECTED,
+        ALLOWED,
+        // Allowed as the single half-open probe; report its outcome or release it
+        PROBE
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMs;
+
+    // All guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openUntil;
+    // Errors already counted; weak, so an error is forgotten once nobody holds it
+    private final Set<Exception> countedErrors = Collections.newSetFromMap(new WeakHashMap<>());
+
+    public CircuitBreaker(String name, int failureThreshold, long openMs) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+    }
+
+    /**
+     * Whether a call may go out now. In the half-open state only the first caller
+     * gets through as the probe.
+     */
+    public synchronized Permit acquire() {
+        switch (state) {
+            case CLOSED:
+                return Permit.ALLOWED;
+            case OPEN:
+                if (System.currentTimeMillis() < openUntil) {
+                    return Permit.REJECTED;
+                }
+                state = State.HALF_OPEN;
+                return Permit.PROBE;
+            default:
+                return Permit.REJECTED; // A probe is already in flight
+        }
+    }
+
+    public boolean allowRequest() {
+        return acquire() != Permit.REJECTED;
+    }
+
+    /**
+     * Whether calls go out freely; speculative work should wait for this rather than
+     * spend the half-open probe
+     */
+    public synchronized boolean isClosed() {
+        return state == State.CLOSED;
+    }
+
+    /**
+     * Give back a probe whose call was cancelled or timed out before it had an
+     * outcome: the breaker opens again for a full interval. Does nothing if the probe
+     * already reported.
+     */
+    public synchronized void releaseProbe() {
+        if (state == State.HALF_OPEN) {
+            Log.d(TAG, name + " probe abandoned, circuit stays open");
+            state = State.OPEN;
+            openUntil = System.currentTimeMillis() + openMs;
+        }
+    }
+
+    /**
+     * Milliseconds until the breaker lets a probe through, 0 if it is not open
+     */
+    public synchronized long getRemainingOpenMs() {
+        return state == State.OPEN ? Math.max(0, openUntil - System.currentTimeMillis()) : 0;
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            Log.d(TAG, name + " recovered, closing circuit");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    /**
+     * Report a failed call; a failure already reported with the same error is ignored
+     */
+    public synchronized void onFailure(Exception error) {
+        if (countedErrors.add(error)) {
+            onFailure();
+        }
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                Log.w(TAG, name + " unhealthy after " + consecutiveFailures + " failures, opening circuit");
+            }
+            state = State.OPEN;
+            openUntil = System.currentTimeMillis() + openMs;
+        }
+    }
+}
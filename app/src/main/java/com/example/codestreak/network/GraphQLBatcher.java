@@ -0,0 +1,430 @@
+package com.example.codestreak.network;
+
+import android.util.Log;
+
+import com.example.codestreak.LeetCodeAPI.LeetCodeCallback;
+import com.example.codestreak.network.ResilientCall.Cancellable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GraphQLBatcher - Merges GraphQL queries issued close together into one request
+ * Queries enqueued within a short window are rewritten into a single document in which
+ * every top-level field gets a unique alias. The combined response is split back up so
+ * each callback receives exactly what its own query would have returned, including
+ * the errors that belong to its fields.
+ *
+ * Only anonymous shorthand queries ({@code { field ... }}) are batched; anything else,
+ * and a window that holds a single query, is sent unchanged. If the server rejects
+ * the combined document, every query is sent again on its own so one bad query cannot
+ * fail the others. Transport and server errors are handed to every query as they are,
+ * as the same error instance so a circuit breaker counts the request once; retrying
+ * is up to each caller's retry policy.
+ *
+ * A combined request may run as long as the most patient of its queries allows. A
+ * query that is cancelled before its window closes is left out; once sent, the request
+ * is only cancelled when every query in it has been.
+ */
+public final class GraphQLBatcher {
+    private static final String TAG = "GraphQLBatcher";
+
+    /**
+     * Sends one GraphQL document
+     */
+    public interface Transport {
+        /**
+         * @param timeoutMs how long the request may take at most
+         * @return a handle that cancels the request
+         */
+        Cancellable send(String query, long timeoutMs, LeetCodeCallback callback);
+    }
+
+    private static final class PendingQuery {
+        final String query;
+        final List<String[]> fields; // {response key, selection without alias}
+        final long timeoutMs;
+        final LeetCodeCallback callback;
+        // Both guarded by the batcher
+        boolean cancelled;
+        Batch batch;
+
+        PendingQuery(String query, List<String[]> fields, long timeoutMs, LeetCodeCallback callback) {
+            this.query = query;
+            this.fields = fields;
+            this.timeoutMs = timeoutMs;
+            this.callback = callback;
+        }
+    }
+
+    /**
+     * A sent request and how many of its queries still want the answer
+     */
+    private static final class Batch {
+        int waiting; // guarded by the batcher
+        Cancellable call = Cancellable.NONE;
+    }
+
+    private final long windowMs;
+    private final int maxBatchSize;
+    private final Transport transport;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, TAG);
+        thread.setDaemon(true);
+        return thread;
+    });
+    private List<PendingQuery> pending = new ArrayList<>(); // guarded by this
+    private ScheduledFuture<?> scheduledFlush; // guarded by this
+
+    public GraphQLBatcher(long windowMs, int maxBatchSize, Transport transport) {
+        this.windowMs = windowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.transport = transport;
+    }
+
+    /**
+     * Queue a query; it is sent together with the others enqueued in the same window
+     * @param timeoutMs how long the request for this query may take at most
+     * @return a handle that withdraws the query
+     */
+    public Cancellable enqueue(String query, long timeoutMs, LeetCodeCallback callback) {
+        List<String[]> fields = topLevelFields(query);
+        if (fields == null || fields.isEmpty()) {
+            return transport.send(query, timeoutMs, callback);
+        }
+
+        PendingQuery queued = new PendingQuery(query, fields, timeoutMs, callback);
+        List<PendingQuery> full = null;
+        synchronized (this) {
+            pending.add(queued);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return () -> withdraw(queued);
+    }
+
+    private void withdraw(PendingQuery query) {
+        Batch batch;
+        synchronized (this) {
+            if (query.cancelled) {
+                return;
+            }
+            query.cancelled = true;
+            pending.remove(query);
+            batch = query.batch;
+            if (batch == null || --batch.waiting > 0) {
+                return;
+            }
+        }
+        batch.call.cancel();
+    }
+
+    private void flush() {
+        List<PendingQuery> batch;
+        synchronized (this) {
+            batch = takePending();
+        }
+        send(batch);
+    }
+
+    private List<PendingQuery> takePending() {
+        List<PendingQuery> batch = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void send(List<PendingQuery> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Batch sent = new Batch();
+        long timeoutMs = 0;
+        synchronized (this) {
+            for (PendingQuery query : batch) {
+                query.batch = sent;
+                timeoutMs = Math.max(timeoutMs, query.timeoutMs);
+            }
+            sent.waiting = batch.size();
+        }
+        if (batch.size() == 1) {
+            PendingQuery only = batch.get(0);
+            start(sent, transport.send(only.query, timeoutMs, only.callback));
+            return;
+        }
+
+        // Alias every top-level field as q<query index>_<field index>
+        StringBuilder document = new StringBuilder("{\n");
+        for (int q = 0; q < batch.size(); q++) {
+            List<String[]> fields = batch.get(q).fields;
+            for (int f = 0; f < fields.size(); f++) {
+                document.append("  ").append(aliasFor(q, f)).append(": ").append(fields.get(f)[1]).append('\n');
+            }
+        }
+        document.append('}');
+        Log.d(TAG, "Sending " + batch.size() + " queries in one request");
+
+        start(sent, transport.send(document.toString(), timeoutMs, new LeetCodeCallback() {
+            @Override
+            public void onSuccess(String response) {
+                if (!dispatch(batch, response)) {
+                    sendSeparately(batch);
+                }
+            }
+
+            @Override
+            public void onError(Exception error) {
+                if (isRejected(error)) {
+                    Log.w(TAG, "Batched document rejected, sending queries separately: " + error.getMessage());
+                    sendSeparately(batch);
+                    return;
+                }
+                for (PendingQuery query : batch) {
+                    query.callback.onError(error);
+                }
+            }
+        }));
+    }
+
+    private void start(Batch batch, Cancellable call) {
+        boolean abandoned;
+        synchronized (this) {
+            batch.call = call;
+            // Every query may have been withdrawn while the request was being started
+            abandoned = batch.waiting == 0;
+        }
+        if (abandoned) {
+            call.cancel();
+        }
+    }
+
+    /**
+     * Whether the server refused the document itself, as opposed to failing to answer
+     */
+    private static boolean isRejected(Exception error) {
+        return error instanceof HttpStatusException && ((HttpStatusException) error).getCode() == 400;
+    }
+
+    private void sendSeparately(List<PendingQuery> batch) {
+        for (PendingQuery query : batch) {
+            List<PendingQuery> single = new ArrayList<>(1);
+            synchronized (this) {
+                if (!query.cancelled) {
+                    single.add(query);
+                }
+            }
+            send(single);
+        }
+    }
+
+    /**
+     * Split a combined response into one response per query
+     * @return false if the response has no data to split, e.g. the document was rejected
+     */
+    private boolean dispatch(List<PendingQuery> batch, String response) {
+        JSONObject[] data = new JSONObject[batch.size()];
+        JSONArray[] errors = new JSONArray[batch.size()];
+        try {
+            JSONObject json = new JSONObject(response);
+            JSONObject combinedData = json.optJSONObject("data");
+            if (combinedData == null) {
+                return false;
+            }
+
+            for (int q = 0; q < batch.size(); q++) {
+                data[q] = new JSONObject();
+                errors[q] = new JSONArray();
+                List<String[]> fields = batch.get(q).fields;
+                for (int f = 0; f < fields.size(); f++) {
+                    Object value = combinedData.opt(aliasFor(q, f));
+                    data[q].put(fields.get(f)[0], value != null ? value : JSONObject.NULL);
+                }
+            }
+
+            JSONArray combinedErrors = json.optJSONArray("errors");
+            if (combinedErrors != null) {
+                for (int i = 0; i < combinedErrors.length(); i++) {
+                    routeError(batch, combinedErrors.optJSONObject(i), errors);
+                }
+            }
+        } catch (JSONException e) {
+            Log.w(TAG, "Unreadable batched response", e);
+            return false;
+        }
+
+        for (int q = 0; q < batch.size(); q++) {
+            JSONObject single = new JSONObject();
+            try {
+                single.put("data", data[q]);
+                if (errors[q].length() > 0) {
+                    single.put("errors", errors[q]);
+                }
+            } catch (JSONException e) {
+                batch.get(q).callback.onError(e);
+                continue;
+            }
+            batch.get(q).callback.onSuccess(single.toString());
+        }
+        return true;
+    }
+
+    /**
+     * Give an error to the query owning the field in its path, with the alias mapped
+     * back to the original key; errors without a path go to every query
+     */
+    private static void routeError(List<PendingQuery> batch, JSONObject error, JSONArray[] errors) throws JSONException {
+        if (error == null) {
+            return;
+        }
+        JSONArray path = error.optJSONArray("path");
+        String alias = path != null && path.length() > 0 ? path.optString(0, null) : null;
+
+        if (alias != null) {
+            for (int q = 0; q < batch.size(); q++) {
+                List<String[]> fields = batch.get(q).fields;
+                for (int f = 0; f < fields.size(); f++) {
+                    if (alias.equals(aliasFor(q, f))) {
+                        JSONObject copy = new JSONObject(error.toString());
+                        copy.getJSONArray("path").put(0, fields.get(f)[0]);
+                        errors[q].put(copy);
+                        return;
+                    }
+                }
+            }
+        }
+        for (JSONArray queryErrors : errors) {
+            queryErrors.put(error);
+        }
+    }
+
+    private static String aliasFor(int queryIndex, int fieldIndex) {
+        return "q" + queryIndex + "_" + fieldIndex;
+    }
+
+    /**
+     * Split a shorthand query into its top-level fields
+     * @return {response key, field selection without alias} per field, or null if the
+     *         query is not a plain {@code { ... }} document this batcher can rewrite
+     */
+    static List<String[]> topLevelFields(String query) {
+        String trimmed = query.trim();
+        if (!trimmed.startsWith("{") || !trimmed.endsWith("}")) {
+            return null;
+        }
+        String body = trimmed.substring(1, trimmed.length() - 1);
+
+        List<String[]> fields = new ArrayList<>();
+        int i = 0;
+        while (true) {
+            i = skipIgnored(body, i);
+            if (i >= body.length()) {
+                return fields;
+            }
+
+            int nameEnd = nameEnd(body, i);
+            if (nameEnd == i) {
+                return null; // Fragment spread, directive or something else we don't rewrite
+            }
+            String key = body.substring(i, nameEnd);
+            int selectionStart = i;
+            i = skipIgnored(body, nameEnd);
+
+            if (i < body.length() && body.charAt(i) == ':') {
+                // Existing alias: keep it as the response key, drop it from the selection
+                selectionStart = skipIgnored(body, i + 1);
+                int fieldEnd = nameEnd(body, selectionStart);
+                if (fieldEnd == selectionStart) {
+                    return null;
+                }
+                i = skipIgnored(body, fieldEnd);
+            }
+
+            if (i < body.length() && body.charAt(i) == '(') {
+                i = skipBalanced(body, i, '(', ')');
+                if (i < 0) {
+                    return null;
+                }
+                i = skipIgnored(body, i);
+            }
+            if (i < body.length() && body.charAt(i) == '{') {
+                i = skipBalanced(body, i, '{', '}');
+                if (i < 0) {
+                    return null;
+                }
+            }
+
+            fields.add(new String[]{key, body.substring(selectionStart, i).trim()});
+        }
+    }
+
+    private static int skipIgnored(String text, int i) {
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || c == ',') {
+                i++;
+            } else if (c == '#') {
+                while (i < text.length() && text.charAt(i) != '\n') {
+                    i++;
+                }
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static int nameEnd(String text, int i) {
+        if (i >= text.length() || !(Character.isLetter(text.charAt(i)) || text.charAt(i) == '_')) {
+            return i;
+        }
+        while (i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Index just past the bracket matching the one at start, skipping string literals
+     * @return -1 if the brackets are unbalanced
+     */
+    private static int skipBalanced(String text, int start, char open, char close) {
+        int depth = 0;
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                i++;
+                while (i < text.length() && text.charAt(i) != '"') {
+                    if (text.charAt(i) == '\\') {
+                        i++;
+                    }
+                    i++;
+                }
+            } else if (c == open) {
+                depth++;
+            } else if (c == close) {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.codestreak.network;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * HttpClientProvider - The one OkHttpClient shared by every screen
+ * A single client means a single connection pool and dispatcher, so warm HTTP/2 and
+ * TLS connections to leetcode.com are reused across activities. Responses are
+ * transparently gzip-decoded by OkHttp and cacheable GETs go through a disk cache.
+ *
+ * Timeouts that differ from the defaults are set per request with
+ * {@link #withTimeouts} instead of cloning the client.
+ */
+public final class HttpClientProvider {
+    private static final String TAG = "HttpClientProvider";
+    private static final String CACHE_DIR = "http_cache";
+    private static final long CACHE_SIZE_BYTES = 10L * 1024 * 1024; // 10MB
+
+    private static final int DEFAULT_CONNECT_TIMEOUT_SECONDS = 15;
+    private static final int DEFAULT_READ_TIMEOUT_SECONDS = 30;
+
+    private static volatile OkHttpClient client;
+    private static volatile File cacheDirectory;
+
+    private HttpClientProvider() {}
+
+    /**
+     * Per-request timeout override, attached to a request as a tag
+     */
+    private static final class RequestTimeouts {
+        final int connectSeconds;
+        final int readSeconds;
+
+        RequestTimeouts(int connectSeconds, int readSeconds) {
+            this.connectSeconds = connectSeconds;
+            this.readSeconds = readSeconds;
+        }
+    }
+
+    /**
+     * Remember where the disk cache lives. Called from Application.onCreate, before
+     * any screen asks for the client.
+     */
+    public static void init(Context context) {
+        cacheDirectory = new File(context.getApplicationContext().getCacheDir(), CACHE_DIR);
+    }
+
+    public static OkHttpClient get() {
+        if (client == null) {
+            synchronized (HttpClientProvider.class) {
+                if (client == null) {
+                    client = buildClient();
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Use different connect/read timeouts for one request. The write timeout
+     * follows the read timeout.
+     */
+    public static Request.Builder withTimeouts(Request.Builder builder, int connectSeconds, int readSeconds) {
+        return builder.tag(RequestTimeouts.class, new RequestTimeouts(connectSeconds, readSeconds));
+    }
+
+    private static OkHttpClient buildClient() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(8);
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(8, 5, TimeUnit.MINUTES))
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(DEFAULT_CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .readTimeout(DEFAULT_READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .writeTimeout(DEFAULT_READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .addInterceptor(HttpClientProvider::applyRequestTimeouts);
+
+        File directory = cacheDirectory;
+        if (directory != null) {
+            builder.cache(new Cache(directory, CACHE_SIZE_BYTES));
+        } else {
+            Log.w(TAG, "HTTP client created before init(), disk cache disabled");
+        }
+        return builder.build();
+    }
+
+    private static Response applyRequestTimeouts(Interceptor.Chain chain) throws IOException {
+        RequestTimeouts timeouts = chain.request().tag(RequestTimeouts.class);
+        if (timeouts == null) {
+            return chain.proceed(chain.request());
+        }
+        return chain
+                .withConnectTimeout(timeouts.connectSeconds, TimeUnit.SECONDS)
+                .withReadTimeout(timeouts.readSeconds, TimeUnit.SECONDS)
+                .withWriteTimeout(timeouts.readSeconds, TimeUnit.SECONDS)
+                .proceed(chain.request());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.codestreak.network;
+
+import java.io.IOException;
+
+/**
+ * HttpStatusException - A request that reached the server but got a non-2xx answer
+ * Carries the status code so the retry layer can tell throttling and server errors
+ * (worth retrying) from client errors (not worth retrying).
+ */
+public class HttpStatusException extends IOException {
+    private final int code;
+
+    public HttpStatusException(int code, String message) {
+        super("HTTP " + code + ": " + message);
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Whether the server is overloaded or failing rather than rejecting the request
+     */
+    public boolean isServerSide() {
+        return code == 408 || code == 429 || code >= 500;
+    }
+}
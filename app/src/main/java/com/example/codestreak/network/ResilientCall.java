@@ -0,0 +1,195 @@
+package com.example.codestreak.network;
+
+import android.util.Log;
+
+import com.example.codestreak.LeetCodeAPI.LeetCodeCallback;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ResilientCall - Retry, circuit breaking and a deadline around an async request
+ * Each attempt first asks the circuit breaker; while the backend is known to be down
+ * the call fails at once instead of waiting for timeouts. Transient failures are
+ * retried after a jittered backoff as long as the retry still fits in the deadline.
+ * Every attempt is given the time left until the deadline, and when the deadline
+ * passes the running attempt is cancelled and the callback gets an error. Anything
+ * an attempt reports after that is dropped without touching the breaker; if the
+ * attempt was the breaker's half-open probe, the probe is given back. The callback
+ * is invoked exactly once, unless the caller cancels the call first.
+ */
+public final class ResilientCall {
+    private static final String TAG = "ResilientCall";
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, TAG);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Sends the request once and reports the outcome to the callback
+     */
+    public interface Attempt {
+        /**
+         * @param timeoutMs time left until the deadline; the request must not take longer
+         * @return a handle that cancels the request
+         */
+        Cancellable run(long timeoutMs, LeetCodeCallback callback);
+    }
+
+    /**
+     * Cancels a request that may still be running
+     */
+    public interface Cancellable {
+        Cancellable NONE = () -> {};
+
+        void cancel();
+    }
+
+    /**
+     * Thrown to the caller when the circuit breaker rejects the call
+     */
+    public static final class CircuitOpenException extends IOException {
+        CircuitOpenException(String message) {
+            super(message);
+        }
+    }
+
+    private final RetryPolicy policy;
+    private final CircuitBreaker breaker;
+    private final Attempt attempt;
+    private final LeetCodeCallback callback;
+    private final long deadlineAt;
+    private final AtomicBoolean finished = new AtomicBoolean();
+    private ScheduledFuture<?> deadlineTimer;
+    private volatile Cancellable running = Cancellable.NONE;
+    // Set while the running attempt is the breaker's half-open probe
+    private final AtomicBoolean holdsProbe = new AtomicBoolean();
+    private int attempts;
+
+    private ResilientCall(RetryPolicy policy, CircuitBreaker breaker, Attempt attempt, LeetCodeCallback callback) {
+        this.policy = policy;
+        this.breaker = breaker;
+        this.attempt = attempt;
+        this.callback = callback;
+        this.deadlineAt = System.currentTimeMillis() + policy.deadlineMs;
+    }
+
+    /**
+     * @return a handle that stops the call, including pending retries, without calling back
+     */
+    public static Cancellable execute(RetryPolicy policy, CircuitBreaker breaker, Attempt attempt, LeetCodeCallback callback) {
+        ResilientCall call = new ResilientCall(policy, breaker, attempt, callback);
+        call.deadlineTimer = scheduler.schedule(() -> call.fail(new InterruptedIOException(
+                "No response within " + policy.deadlineMs + "ms")), policy.deadlineMs, TimeUnit.MILLISECONDS);
+        call.runAttempt();
+        return call::cancel;
+    }
+
+    private void runAttempt() {
+        if (finished.get()) {
+            return;
+        }
+        CircuitBreaker.Permit permit = breaker.acquire();
+        if (permit == CircuitBreaker.Permit.REJECTED) {
+            fail(new CircuitOpenException("LeetCode is unavailable, retrying in "
+                    + TimeUnit.MILLISECONDS.toSeconds(breaker.getRemainingOpenMs()) + "s"));
+            return;
+        }
+
+        holdsProbe.set(permit == CircuitBreaker.Permit.PROBE);
+        long remainingMs = deadlineAt - System.currentTimeMillis();
+        if (remainingMs <= 0) {
+            fail(new InterruptedIOException("No response within " + policy.deadlineMs + "ms"));
+            return;
+        }
+
+        attempts++;
+        Cancellable handle = attempt.run(remainingMs, new LeetCodeCallback() {
+            @Override
+            public void onSuccess(String response) {
+                if (finished.get()) {
+                    return;
+                }
+                breaker.onSuccess();
+                holdsProbe.set(false);
+                if (finished.compareAndSet(false, true)) {
+                    deadlineTimer.cancel(false);
+                    callback.onSuccess(response);
+                }
+            }
+
+            @Override
+            public void onError(Exception error) {
+                onAttemptFailed(error);
+            }
+        });
+        running = handle != null ? handle : Cancellable.NONE;
+        if (finished.get()) {
+            // The deadline passed while the attempt was starting
+            running.cancel();
+        }
+    }
+
+    private void onAttemptFailed(Exception error) {
+        if (finished.get()) {
+            return;
+        }
+        if (!RetryPolicy.isRetryable(error)) {
+            // The server answered, so it is healthy even though the request was bad
+            breaker.onSuccess();
+            holdsProbe.set(false);
+            fail(error);
+            return;
+        }
+
+        breaker.onFailure(error);
+        holdsProbe.set(false);
+        if (attempts >= policy.maxAttempts) {
+            fail(error);
+            return;
+        }
+
+        long delayMs = policy.delayBeforeRetry(attempts);
+        if (System.currentTimeMillis() + delayMs >= deadlineAt) {
+            fail(error);
+            return;
+        }
+        Log.d(TAG, "Attempt " + attempts + " failed (" + error.getMessage() + "), retrying in " + delayMs + "ms");
+        scheduler.schedule(this::runAttempt, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancel() {
+        if (finished.compareAndSet(false, true)) {
+            deadlineTimer.cancel(false);
+            abandonAttempt();
+        }
+    }
+
+    private void fail(Exception error) {
+        if (finished.compareAndSet(false, true)) {
+            if (deadlineTimer != null) {
+                deadlineTimer.cancel(false);
+            }
+            abandonAttempt();
+            callback.onError(error);
+        }
+    }
+
+    /**
+     * Cancel the running attempt; its outcome will not be reported, so a probe it
+     * holds is given back to the breaker
+     */
+    private void abandonAttempt() {
+        running.cancel();
+        if (holdsProbe.getAndSet(false)) {
+            breaker.releaseProbe();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.codestreak.network;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * RetryPolicy - How hard to try one kind of request
+ * Retries use exponential backoff with full jitter, so clients that failed together
+ * do not retry together. The deadline bounds the whole call, retries and waits
+ * included. Only idempotent requests should be given more than one attempt.
+ */
+public final class RetryPolicy {
+    public final int maxAttempts;
+    public final long baseDelayMs;
+    public final long maxDelayMs;
+    public final long deadlineMs;
+
+    public RetryPolicy(int maxAttempts, long baseDelayMs, long maxDelayMs, long deadlineMs) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.deadlineMs = deadlineMs;
+    }
+
+    /**
+     * Delay before the given retry (1 for the first retry): uniform in
+     * [0, min(maxDelay, base * 2^(retry-1))]
+     */
+    public long delayBeforeRetry(int retry) {
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << Math.min(retry - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Whether an error is transient: a network failure, throttling or a server error.
+     * Other HTTP errors would fail the same way again.
+     */
+    public static boolean isRetryable(Exception error) {
+        if (error instanceof HttpStatusException) {
+            return ((HttpStatusException) error).isServerSide();
+        }
+        return error instanceof IOException;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.codestreak.network;
+
+import android.util.Log;
+
+import com.example.codestreak.LeetCodeAPI.LeetCodeCallback;
+import com.example.codestreak.network.ResilientCall.Cancellable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SingleFlight - Coalesces identical requests into one network call
+ * While a request for a key is in flight, further callers with the same key wait on
+ * it instead of starting their own, and the result is fanned out to all of them.
+ * A successful response is also remembered for a short window so that repeat calls
+ * right after it (e.g. every screen refreshing on resume) are answered immediately.
+ * Errors are never remembered. A caller that cancels stops waiting; the call itself is
+ * only cancelled once nobody waits for it any more.
+ */
+public final class SingleFlight {
+    private static final String TAG = "SingleFlight";
+
+    private static final class Memo {
+        final String response;
+        final long expiresAt;
+
+        Memo(String response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Flight {
+        final List<LeetCodeCallback> waiters = new ArrayList<>();
+        Cancellable call = Cancellable.NONE;
+    }
+
+    // Both guarded by this
+    private final Map<String, Flight> inFlight = new HashMap<>();
+    private final Map<String, Memo> memos = new HashMap<>();
+    private volatile long memoWindowMs;
+
+    public SingleFlight(long memoWindowMs) {
+        this.memoWindowMs = memoWindowMs;
+    }
+
+    /**
+     * How long a successful response answers repeat calls; 0 disables the memo
+     */
+    public void setMemoWindowMs(long memoWindowMs) {
+        this.memoWindowMs = memoWindowMs;
+        if (memoWindowMs <= 0) {
+            synchronized (this) {
+                memos.clear();
+            }
+        }
+    }
+
+    /**
+     * Run the request for key unless an identical one is already in flight or was
+     * answered within the memo window. A memoized response is delivered on the
+     * calling thread; otherwise the callback runs on the thread that completes the call.
+     * @param timeoutMs limit for a new call; a joined call keeps its own
+     * @return a handle that stops this caller waiting
+     */
+    public Cancellable execute(String key, long timeoutMs, LeetCodeCallback callback, GraphQLBatcher.Transport transport) {
+        String memoized = null;
+        Flight flight;
+        synchronized (this) {
+            Memo memo = memos.get(key);
+            if (memo != null && memo.expiresAt > System.currentTimeMillis()) {
+                memoized = memo.response;
+                flight = null;
+            } else {
+                flight = inFlight.get(key);
+                if (flight != null) {
+                    Log.d(TAG, "Joining in-flight request");
+                    flight.waiters.add(callback);
+                    Flight joined = flight;
+                    return () -> leave(key, joined, callback);
+                }
+                flight = new Flight();
+                flight.waiters.add(callback);
+                inFlight.put(key, flight);
+            }
+        }
+        if (memoized != null) {
+            callback.onSuccess(memoized);
+            return Cancellable.NONE;
+        }
+
+        Flight started = flight;
+        Cancellable call = transport.send(key, timeoutMs, new LeetCodeCallback() {
+            @Override
+            public void onSuccess(String response) {
+                for (LeetCodeCallback waiter : finish(key, started, response)) {
+                    waiter.onSuccess(response);
+                }
+            }
+
+            @Override
+            public void onError(Exception error) {
+                for (LeetCodeCallback waiter : finish(key, started, null)) {
+                    waiter.onError(error);
+                }
+            }
+        });
+        boolean abandoned;
+        synchronized (this) {
+            flight.call = call;
+            // Everyone may have left while the call was being started
+            abandoned = flight.waiters.isEmpty();
+            if (abandoned) {
+                inFlight.remove(key, flight);
+            }
+        }
+        if (abandoned) {
+            call.cancel();
+        }
+        return () -> leave(key, started, callback);
+    }
+
+    private void leave(String key, Flight flight, LeetCodeCallback callback) {
+        synchronized (this) {
+            if (!flight.waiters.remove(callback) || !flight.waiters.isEmpty()) {
+                return;
+            }
+            inFlight.remove(key, flight);
+        }
+        Log.d(TAG, "Cancelling request nobody waits for");
+        flight.call.cancel();
+    }
+
+    private synchronized List<LeetCodeCallback> finish(String key, Flight flight, String response) {
+        long now = System.currentTimeMillis();
+        // Drop expired memos so the map only holds recent responses
+        Iterator<Memo> iterator = memos.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().expiresAt <= now) {
+                iterator.remove();
+            }
+        }
+        if (response != null && memoWindowMs > 0) {
+            memos.put(key, new Memo(response, now + memoWindowMs));
+        }
+
+        inFlight.remove(key, flight);
+        List<LeetCodeCallback> waiters = new ArrayList<>(flight.waiters);
+        flight.waiters.clear();
+        return waiters;
+    }
+}
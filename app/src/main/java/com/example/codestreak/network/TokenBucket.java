@@ -0,0 +1,84 @@
+package com.example.codestreak.network;
+
+/**
+ * TokenBucket - Adaptive request rate limiter
+ * Callers take one token per request; tokens refill at the current rate up to the
+ * burst size. The rate adapts to the server: every success nudges it up towards the
+ * maximum, while a throttled response (HTTP 429 or 5xx) halves it and pauses all
+ * callers until the server's retry delay has passed.
+ */
+public final class TokenBucket {
+    private final double maxRatePerSecond;
+    private final double minRatePerSecond;
+    private final double burst;
+    // Added to the rate after each success
+    private final double increaseStep;
+
+    // All guarded by this
+    private double ratePerSecond;
+    private double tokens;
+    private long lastRefillAt;
+    private long pausedUntil;
+
+    public TokenBucket(double ratePerSecond, double minRatePerSecond, double maxRatePerSecond, int burst) {
+        this.ratePerSecond = ratePerSecond;
+        this.minRatePerSecond = minRatePerSecond;
+        this.maxRatePerSecond = maxRatePerSecond;
+        this.burst = burst;
+        this.increaseStep = Math.max(minRatePerSecond, maxRatePerSecond / 20);
+        this.tokens = burst;
+        this.lastRefillAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Block until a request may be sent
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while (true) {
+            long now = System.currentTimeMillis();
+            refill(now);
+            if (now >= pausedUntil && tokens >= 1) {
+                tokens -= 1;
+                return;
+            }
+
+            long waitMs = now < pausedUntil
+                    ? pausedUntil - now
+                    : (long) Math.ceil((1 - tokens) * 1000 / ratePerSecond);
+            wait(Math.max(1, waitMs));
+        }
+    }
+
+    /**
+     * Additive increase after a request went through
+     */
+    public synchronized void onSuccess() {
+        ratePerSecond = Math.min(maxRatePerSecond, ratePerSecond + increaseStep);
+    }
+
+    /**
+     * Multiplicative decrease after the server pushed back; nobody sends again
+     * until the delay has passed
+     * @param retryAfterMs how long to pause all callers
+     */
+    public synchronized void onThrottled(long retryAfterMs) {
+        long now = System.currentTimeMillis();
+        refill(now);
+        ratePerSecond = Math.max(minRatePerSecond, ratePerSecond / 2);
+        tokens = 0;
+        pausedUntil = Math.max(pausedUntil, now + retryAfterMs);
+        notifyAll();
+    }
+
+    public synchronized double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    private void refill(long now) {
+        long from = Math.max(lastRefillAt, pausedUntil);
+        if (now > from) {
+            tokens = Math.min(burst, tokens + (now - from) * ratePerSecond / 1000);
+        }
+        lastRefillAt = Math.max(lastRefillAt, now);
+    }
+}
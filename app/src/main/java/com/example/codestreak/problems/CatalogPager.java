@@ -0,0 +1,219 @@
+package com.example.codestreak.problems;
+
+import android.util.Log;
+
+import com.example.codestreak.network.TokenBucket;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * CatalogPager - Parallel, rate-limited sync of the remote problem list into the catalog
+ * The first page reports the size of the remote list; the remaining pages are then
+ * fetched by a small worker pool, each request paced by a shared {@link TokenBucket}
+ * that backs off when the server answers 429 or 5xx. Pages can finish in any order
+ * but are stored strictly in order, so the catalog's remote offset only ever covers
+ * a gap-free prefix. If a page cannot be fetched the sync stops after the last
+ * contiguous page and the next sync resumes from there.
+ */
+public final class CatalogPager {
+    private static final String TAG = "CatalogPager";
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long BASE_BACKOFF_MS = 500;
+    private static final long MAX_BACKOFF_MS = 8000;
+
+    /**
+     * Builds the request for the page starting at skip
+     */
+    public interface PageRequestFactory {
+        Request build(int skip, int limit);
+    }
+
+    /**
+     * Called on the syncing thread after each page is stored
+     * @param added problems the page added to the catalog
+     */
+    public interface PageListener {
+        void onPageStored(List<Problem> added);
+    }
+
+    private static final class Page {
+        final int skip;
+        final List<Problem> problems;
+        final QuestionListParser.PageInfo info; // null if the page could not be fetched
+
+        Page(int skip, List<Problem> problems, QuestionListParser.PageInfo info) {
+            this.skip = skip;
+            this.problems = problems;
+            this.info = info;
+        }
+    }
+
+    private final OkHttpClient client;
+    private final ProblemCatalog catalog;
+    private final PageRequestFactory requestFactory;
+    private final int pageSize;
+    private final int parallelism;
+    private final TokenBucket limiter;
+    private volatile boolean cancelled;
+    // Pages at or after this offset are not fetched any more
+    private volatile int stopAt = Integer.MAX_VALUE;
+
+    public CatalogPager(OkHttpClient client, ProblemCatalog catalog, PageRequestFactory requestFactory,
+                        int pageSize, int parallelism, TokenBucket limiter) {
+        this.client = client;
+        this.catalog = catalog;
+        this.requestFactory = requestFactory;
+        this.pageSize = pageSize;
+        this.parallelism = parallelism;
+        this.limiter = limiter;
+    }
+
+    /**
+     * Stop the sync; pages already stored stay in the catalog
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Fetch every page from startOffset to the end of the remote list. Blocks the
+     * calling thread, so call it from a background thread. Each pager syncs once.
+     * @return the remote offset the catalog has reached
+     */
+    public int sync(int startOffset, PageListener listener) throws InterruptedException {
+        Page first = fetchPage(startOffset);
+        if (first.info == null || !store(first, listener)) {
+            return catalog.getRemoteCount();
+        }
+
+        int total = first.info.total;
+        int nextSkip = startOffset + first.info.questionCount;
+        if (total < 0) {
+            // The server did not report the list size, so there is nothing to fan out over
+            while (!cancelled) {
+                Page page = fetchPage(nextSkip);
+                if (page.info == null || !store(page, listener)) {
+                    break;
+                }
+                nextSkip += page.info.questionCount;
+            }
+            return catalog.getRemoteCount();
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        ExecutorCompletionService<Page> completion = new ExecutorCompletionService<>(workers);
+        int submitted = 0;
+        for (int skip = nextSkip; skip < total; skip += pageSize) {
+            final int pageSkip = skip;
+            completion.submit(() -> fetchPage(pageSkip));
+            submitted++;
+        }
+
+        // Hold pages that finished early until every page before them is stored
+        Map<Integer, Page> finished = new HashMap<>();
+        try {
+            for (int i = 0; i < submitted && nextSkip < stopAt; i++) {
+                Page page = completion.take().get();
+                if (page.info == null) {
+                    // A gap: pages before it are still stored, pages after it are not fetched
+                    stopAt = Math.min(stopAt, page.skip);
+                    continue;
+                }
+
+                finished.put(page.skip, page);
+                Page next;
+                while (nextSkip < stopAt && (next = finished.remove(nextSkip)) != null) {
+                    nextSkip += pageSize;
+                    if (!store(next, listener)) {
+                        stopAt = Integer.MIN_VALUE;
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Page worker failed", e);
+        } finally {
+            workers.shutdownNow();
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        return catalog.getRemoteCount();
+    }
+
+    /**
+     * Append a page to the catalog
+     * @return whether more pages follow it
+     */
+    private boolean store(Page page, PageListener listener) {
+        int reached = page.skip + page.info.questionCount;
+        boolean reachedEnd = page.info.questionCount < pageSize
+                || (page.info.total >= 0 && reached >= page.info.total);
+        List<Problem> added = catalog.appendPage(page.problems, reached, reachedEnd);
+        Log.d(TAG, "Stored page at " + page.skip + ": " + added.size() + " new problems");
+        listener.onPageStored(added);
+        return !reachedEnd && !cancelled;
+    }
+
+    /**
+     * Fetch one page, retrying with backoff on throttling and network errors
+     * @return the page, with null info if it could not be fetched
+     */
+    private Page fetchPage(int skip) throws InterruptedException {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS && !cancelled && skip < stopAt; attempt++) {
+            limiter.acquire();
+            List<Problem> problems = new ArrayList<>();
+            long backoffMs = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << attempt);
+
+            try (Response response = client.newCall(requestFactory.build(skip, pageSize)).execute()) {
+                int code = response.code();
+                ResponseBody body = response.body();
+                if (code == 429 || code >= 500) {
+                    limiter.onThrottled(retryAfterMs(response, backoffMs));
+                    Log.w(TAG, "Throttled (HTTP " + code + ") at " + skip + ", rate now " + limiter.getRatePerSecond() + "/s");
+                    continue;
+                }
+                if (!response.isSuccessful() || body == null) {
+                    Log.w(TAG, "Page at " + skip + " failed: HTTP " + code);
+                    break;
+                }
+
+                QuestionListParser.PageInfo info = QuestionListParser.parseProblemset(body.charStream(), problems::add);
+                if (info == null) {
+                    Log.w(TAG, "Page at " + skip + " has no question list");
+                    break;
+                }
+                limiter.onSuccess();
+                return new Page(skip, problems, info);
+            } catch (IOException e) {
+                Log.w(TAG, "Page at " + skip + " failed: " + e.getMessage());
+                Thread.sleep(backoffMs);
+            }
+        }
+        return new Page(skip, null, null);
+    }
+
+    private static long retryAfterMs(Response response, long fallbackMs) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter != null) {
+            try {
+                return Math.min(MAX_BACKOFF_MS * 4, Long.parseLong(retryAfter.trim()) * 1000);
+            } catch (NumberFormatException ignored) {
+                // HTTP-date form; use our own backoff
+            }
+        }
+        return fallbackMs;
+    }
+}
@@ -0,0 +1,459 @@
+package com.example.codestreak.problems;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+import android.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * CompanyDataset - Company problem lists read from the company_problems.bin asset
+ * The asset is generated at build time from src/main/dataset/company_problems.tsv
+ * (see company-dataset.gradle), with problems already merged across companies. It is
+ * memory-mapped and only the dictionaries are read up front; problems are decoded the
+ * first time they are accessed, so a screen showing one page decodes one page.
+ *
+ * Filtering works on ordinals: each company, difficulty and topic maps to a BitSet of
+ * the problems it covers, built from the columns on first use without decoding any
+ * problem. A selection is an AND of those sets, and {@link #select} turns it into a
+ * list over the matching ordinals that decodes only what is read. Sorted selections
+ * walk a per-{@link ProblemOrder} permutation of the ordinals, computed once from the
+ * columns (and the titles, for the title orders).
+ *
+ * Layout (big-endian, strings are an unsigned short byte length followed by UTF-8):
+ * <pre>
+ * int magic, int version
+ * difficulty, company and topic dictionaries: unsigned short count, strings
+ * int problem count n, then columns indexed by ordinal (problems sorted by id):
+ *   int id[n], byte difficulty[n], short acceptance rate x10[n], int record offset[n]
+ * per company, in dictionary order: unsigned short count, unsigned short ordinals[count]
+ * records: title, unsigned byte topic count, unsigned short topic ids,
+ *          unsigned byte company count, unsigned short company ids
+ * </pre>
+ */
+public final class CompanyDataset {
+    private static final String TAG = "CompanyDataset";
+    static final String ASSET_NAME = "company_problems.bin";
+    static final int FILE_MAGIC = 0x43504453; // "CPDS"
+    static final int FORMAT_VERSION = 1;
+
+    private static volatile CompanyDataset instance;
+
+    private final ByteBuffer buffer;
+    private final String[] difficulties;
+    private final String[] companies;
+    private final String[] topics;
+    // ProblemDictionary difficulty code of each difficulty in the dictionary
+    private final byte[] difficultyCodes;
+    private final Map<String, Integer> companyIndex = new HashMap<>();
+    private final int count;
+    private final int idsAt;
+    private final int difficultiesAt;
+    private final int acceptanceAt;
+    private final int offsetsAt;
+    private final int recordsAt;
+    // Start and length of each company's ordinal list
+    private final int[] postingsAt;
+    private final int[] postingCounts;
+    private final AtomicReferenceArray<Problem> decoded;
+    private final List<Problem> allProblems;
+    // Ordinal sets by dictionary index, built on first use
+    private BitSet[] companyBits;
+    private BitSet[] difficultyBits;
+    private BitSet[] topicBits;
+    // By ProblemOrder ordinal, built on first use
+    private final int[][] permutations = new int[ProblemOrder.values().length][];
+
+    public static CompanyDataset getInstance(Context context) {
+        if (instance == null) {
+            synchronized (CompanyDataset.class) {
+                if (instance == null) {
+                    instance = load(context.getApplicationContext().getAssets());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static CompanyDataset load(AssetManager assets) {
+        try {
+            CompanyDataset dataset = new CompanyDataset(map(assets));
+            Log.d(TAG, "Mapped " + dataset.size() + " company problems");
+            return dataset;
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Unreadable company dataset", e);
+            return new CompanyDataset(emptyDataset());
+        }
+    }
+
+    private static ByteBuffer map(AssetManager assets) throws IOException {
+        try (AssetFileDescriptor fd = assets.openFd(ASSET_NAME);
+             FileInputStream in = fd.createInputStream()) {
+            return in.getChannel().map(FileChannel.MapMode.READ_ONLY, fd.getStartOffset(), fd.getLength());
+        } catch (FileNotFoundException e) {
+            // openFd only works for assets stored uncompressed; read anything else into memory
+            Log.w(TAG, "Company dataset is compressed, reading it instead of mapping");
+            try (InputStream in = assets.open(ASSET_NAME)) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] chunk = new byte[8192];
+                int read;
+                while ((read = in.read(chunk)) != -1) {
+                    out.write(chunk, 0, read);
+                }
+                return ByteBuffer.wrap(out.toByteArray());
+            }
+        }
+    }
+
+    private static ByteBuffer emptyDataset() {
+        ByteBuffer empty = ByteBuffer.allocate(18);
+        empty.putInt(FILE_MAGIC).putInt(FORMAT_VERSION).putShort((short) 0).putShort((short) 0)
+                .putShort((short) 0).putInt(0);
+        empty.flip();
+        return empty;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the buffer is not a dataset of this version
+     */
+    CompanyDataset(ByteBuffer buffer) {
+        this.buffer = buffer;
+        ByteBuffer in = buffer.duplicate();
+        if (in.getInt() != FILE_MAGIC || in.getInt() != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported company dataset format");
+        }
+        difficulties = readDictionary(in);
+        companies = readDictionary(in);
+        topics = readDictionary(in);
+        difficultyCodes = new byte[difficulties.length];
+        for (int i = 0; i < difficulties.length; i++) {
+            difficultyCodes[i] = ProblemDictionary.difficultyCode(difficulties[i]);
+        }
+        for (int i = 0; i < companies.length; i++) {
+            companyIndex.put(companies[i], i);
+        }
+
+        count = in.getInt();
+        idsAt = in.position();
+        difficultiesAt = idsAt + count * 4;
+        acceptanceAt = difficultiesAt + count;
+        offsetsAt = acceptanceAt + count * 2;
+        in.position(offsetsAt + count * 4);
+
+        postingsAt = new int[companies.length];
+        postingCounts = new int[companies.length];
+        for (int i = 0; i < companies.length; i++) {
+            postingCounts[i] = Short.toUnsignedInt(in.getShort());
+            postingsAt[i] = in.position();
+            in.position(in.position() + postingCounts[i] * 2);
+        }
+        recordsAt = in.position();
+
+        decoded = new AtomicReferenceArray<>(count);
+        allProblems = new ProblemList(null);
+    }
+
+    private static String[] readDictionary(ByteBuffer in) {
+        String[] values = new String[Short.toUnsignedInt(in.getShort())];
+        for (int i = 0; i < values.length; i++) {
+            int length = Short.toUnsignedInt(in.getShort());
+            values[i] = readString(in, in.position(), length);
+            in.position(in.position() + length);
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer buffer, int position, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(position + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Number of distinct problems
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Companies that have problems, in dataset order
+     */
+    public List<String> getCompanies() {
+        return Collections.unmodifiableList(Arrays.asList(companies));
+    }
+
+    /**
+     * Number of problems asked by a company, without decoding any of them
+     */
+    public int countFor(String company) {
+        Integer index = companyIndex.get(company);
+        return index != null ? postingCounts[index] : 0;
+    }
+
+    /**
+     * All problems sorted by id. The list decodes entries as they are read and is
+     * safe to use from any thread.
+     */
+    public List<Problem> getProblems() {
+        return allProblems;
+    }
+
+    /**
+     * Problems asked by a company sorted by id, decoded as they are read
+     */
+    public List<Problem> getProblems(String company) {
+        return select(companyBits(company));
+    }
+
+    /**
+     * Problems at the ordinals set in a selection, sorted by id and decoded as they are read
+     */
+    public List<Problem> select(BitSet ordinals) {
+        return new ProblemList(ordinals.stream().toArray());
+    }
+
+    /**
+     * Problems at the ordinals set in a selection, in the given order
+     */
+    public List<Problem> select(BitSet ordinals, ProblemOrder order) {
+        return new ProblemList(ordinals(ordinals, order));
+    }
+
+    /**
+     * The ordinals set in a selection, in the given order
+     */
+    public int[] ordinals(BitSet selection, ProblemOrder order) {
+        if (order == ProblemOrder.ID) {
+            // Ordinals are assigned in id order
+            return selection.stream().toArray();
+        }
+        return ProblemOrder.select(permutation(order), selection);
+    }
+
+    private synchronized int[] permutation(ProblemOrder order) {
+        int[] permutation = permutations[order.ordinal()];
+        if (permutation == null) {
+            permutation = order.sort(new ColumnKeys(), count);
+            permutations[order.ordinal()] = permutation;
+        }
+        return permutation;
+    }
+
+    /**
+     * Every ordinal; the returned set belongs to the caller
+     */
+    public BitSet allBits() {
+        BitSet bits = new BitSet(count);
+        bits.set(0, count);
+        return bits;
+    }
+
+    /**
+     * Ordinals of the problems asked by a company; the returned set belongs to the caller
+     */
+    public synchronized BitSet companyBits(String company) {
+        ensureIndexed();
+        Integer index = companyIndex.get(company);
+        return index != null ? (BitSet) companyBits[index].clone() : new BitSet();
+    }
+
+    /**
+     * Ordinals of the problems with any of the given difficulties; the returned set
+     * belongs to the caller
+     */
+    public synchronized BitSet difficultyBits(Collection<String> selected) {
+        ensureIndexed();
+        BitSet bits = new BitSet(count);
+        for (int i = 0; i < difficulties.length; i++) {
+            if (selected.contains(difficulties[i])) {
+                bits.or(difficultyBits[i]);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Ordinals of the problems tagged with a topic; the returned set belongs to the caller
+     */
+    public synchronized BitSet topicBits(String topic) {
+        ensureIndexed();
+        int index = Arrays.asList(topics).indexOf(topic);
+        return index >= 0 ? (BitSet) topicBits[index].clone() : new BitSet();
+    }
+
+    /**
+     * Build the ordinal sets from the company lists, the difficulty column and the
+     * topic ids in the records, without decoding titles
+     */
+    private void ensureIndexed() {
+        if (companyBits != null) {
+            return;
+        }
+        BitSet[] byCompany = new BitSet[companies.length];
+        for (int c = 0; c < companies.length; c++) {
+            byCompany[c] = new BitSet(count);
+            for (int i = 0; i < postingCounts[c]; i++) {
+                byCompany[c].set(Short.toUnsignedInt(buffer.getShort(postingsAt[c] + i * 2)));
+            }
+        }
+
+        BitSet[] byDifficulty = newBitSets(difficulties.length);
+        BitSet[] byTopic = newBitSets(topics.length);
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            byDifficulty[buffer.get(difficultiesAt + ordinal) & 0xFF].set(ordinal);
+
+            int position = recordsAt + buffer.getInt(offsetsAt + ordinal * 4);
+            position += 2 + Short.toUnsignedInt(buffer.getShort(position));
+            int topicCount = buffer.get(position) & 0xFF;
+            for (int i = 0; i < topicCount; i++) {
+                byTopic[Short.toUnsignedInt(buffer.getShort(position + 1 + i * 2))].set(ordinal);
+            }
+        }
+
+        difficultyBits = byDifficulty;
+        topicBits = byTopic;
+        companyBits = byCompany;
+    }
+
+    private BitSet[] newBitSets(int length) {
+        BitSet[] sets = new BitSet[length];
+        for (int i = 0; i < length; i++) {
+            sets[i] = new BitSet(count);
+        }
+        return sets;
+    }
+
+    /**
+     * The problem at an ordinal, decoding it on first access
+     */
+    public Problem get(int ordinal) {
+        Problem problem = decoded.get(ordinal);
+        if (problem == null) {
+            // Decoding twice on a race is harmless; keep whichever copy was stored first
+            decoded.compareAndSet(ordinal, null, decode(ordinal));
+            problem = decoded.get(ordinal);
+        }
+        return problem;
+    }
+
+    /**
+     * Drop the decoded problems, e.g. when memory is low; they are decoded again when read
+     */
+    public void trimMemory() {
+        for (int i = 0; i < count; i++) {
+            decoded.set(i, null);
+        }
+    }
+
+    private Problem decode(int ordinal) {
+        int id = buffer.getInt(idsAt + ordinal * 4);
+        byte difficulty = difficultyCodes[buffer.get(difficultiesAt + ordinal) & 0xFF];
+        float acceptanceRate = buffer.getShort(acceptanceAt + ordinal * 2) / 10f;
+
+        int position = recordsAt + buffer.getInt(offsetsAt + ordinal * 4);
+        int titleLength = Short.toUnsignedInt(buffer.getShort(position));
+        String title = readString(buffer, position + 2, titleLength);
+        position += 2 + titleLength;
+
+        String[] problemTopics = new String[buffer.get(position) & 0xFF];
+        position++;
+        for (int i = 0; i < problemTopics.length; i++) {
+            problemTopics[i] = topics[Short.toUnsignedInt(buffer.getShort(position))];
+            position += 2;
+        }
+
+        String[] problemCompanies = new String[buffer.get(position) & 0xFF];
+        position++;
+        for (int i = 0; i < problemCompanies.length; i++) {
+            problemCompanies[i] = companies[Short.toUnsignedInt(buffer.getShort(position))];
+            position += 2;
+        }
+
+        // Slugs are derived from the titles
+        return new Problem(id, title, null, difficulty, acceptanceRate,
+                ProblemDictionary.names(Arrays.asList(problemCompanies)), ProblemDictionary.names(Arrays.asList(problemTopics)));
+    }
+
+    /**
+     * Sort keys read straight from the columns; title keys are made once per sort
+     */
+    private final class ColumnKeys implements ProblemOrder.Keys {
+        private final Collator collator = ProblemOrder.newTitleCollator();
+        private final CollationKey[] titleKeys = new CollationKey[count];
+
+        @Override
+        public int id(int ordinal) {
+            return buffer.getInt(idsAt + ordinal * 4);
+        }
+
+        @Override
+        public int difficultyRank(int ordinal) {
+            return ProblemOrder.difficultyRank(difficulties[buffer.get(difficultiesAt + ordinal) & 0xFF]);
+        }
+
+        @Override
+        public CollationKey titleKey(int ordinal) {
+            if (titleKeys[ordinal] == null) {
+                int position = recordsAt + buffer.getInt(offsetsAt + ordinal * 4);
+                String title = readString(buffer, position + 2, Short.toUnsignedInt(buffer.getShort(position)));
+                titleKeys[ordinal] = collator.getCollationKey(title);
+            }
+            return titleKeys[ordinal];
+        }
+
+        @Override
+        public double acceptanceRate(int ordinal) {
+            return buffer.getShort(acceptanceAt + ordinal * 2) / 10.0;
+        }
+    }
+
+    /**
+     * Read-only view over an ordinal array, or over all ordinals
+     */
+    private final class ProblemList extends AbstractList<Problem> implements RandomAccess {
+        // Null for all problems
+        private final int[] ordinals;
+        private final int size;
+
+        ProblemList(int[] ordinals) {
+            this.ordinals = ordinals;
+            this.size = ordinals != null ? ordinals.length : count;
+        }
+
+        @Override
+        public Problem get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+            }
+            return CompanyDataset.this.get(ordinals != null ? ordinals[index] : index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
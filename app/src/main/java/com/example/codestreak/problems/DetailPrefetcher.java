@@ -0,0 +1,270 @@
+package com.example.codestreak.problems;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * DetailPrefetcher - Warms ProblemDetailCache for the rows a problem list is showing
+ * Rows that stay on screen for a moment after scrolling stops are queued, and a row
+ * that is pressed jumps the queue because a tap (and the detail screen) usually
+ * follows. Only a few loads run at once; queued and running loads for rows that
+ * scrolled away are cancelled, while a pressed row keeps its load. Problems already
+ * fresh in the cache are skipped.
+ *
+ * All state lives on the main thread.
+ */
+public final class DetailPrefetcher {
+    private static final String TAG = "DetailPrefetcher";
+    private static final int MAX_CONCURRENT = 2;
+    // How long rows have to stay visible after a scroll stops
+    private static final long DWELL_MS = 400;
+
+    /**
+     * Maps an adapter position to the titleSlug of its problem
+     */
+    public interface SlugProvider {
+        /**
+         * @return the slug, or null for rows that are not problems
+         */
+        String getTitleSlug(int position);
+    }
+
+    private final RecyclerView recyclerView;
+    private final LinearLayoutManager layoutManager;
+    private final SlugProvider slugProvider;
+    private final ProblemDetailCache cache;
+    private final ProblemDetailLoader loader;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Checks cache freshness off the main thread, since it may read from disk
+    private final ExecutorService cacheExecutor = Executors.newSingleThreadExecutor();
+
+    private final ArrayDeque<String> queue = new ArrayDeque<>();
+    private final Map<String, ProblemDetailLoader.Handle> running = new HashMap<>();
+    // Slugs being checked against the cache; they hold a slot like a running load
+    private final Set<String> checking = new HashSet<>();
+    // Slugs loaded or found fresh during this screen's lifetime
+    private final Set<String> warm = new HashSet<>();
+    private String pressedSlug;
+    private boolean released;
+
+    private final Runnable dwellCheck = this::prefetchVisibleRows;
+
+    private final RecyclerView.OnScrollListener scrollListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+            mainHandler.removeCallbacks(dwellCheck);
+            if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                mainHandler.postDelayed(dwellCheck, DWELL_MS);
+            }
+        }
+
+        @Override
+        public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+            if (dx != 0 || dy != 0) {
+                dropInvisible();
+            }
+        }
+    };
+
+    private final RecyclerView.OnItemTouchListener touchListener = new RecyclerView.SimpleOnItemTouchListener() {
+        @Override
+        public boolean onInterceptTouchEvent(@NonNull RecyclerView recyclerView, @NonNull MotionEvent event) {
+            if (event.getActionMasked() == MotionEvent.ACTION_DOWN) {
+                View child = recyclerView.findChildViewUnder(event.getX(), event.getY());
+                if (child != null) {
+                    onRowPressed(recyclerView.getChildAdapterPosition(child));
+                }
+            }
+            // Only observing, the row still handles the touch
+            return false;
+        }
+    };
+
+    private DetailPrefetcher(Context context, RecyclerView recyclerView, LinearLayoutManager layoutManager,
+                             SlugProvider slugProvider) {
+        this.recyclerView = recyclerView;
+        this.layoutManager = layoutManager;
+        this.slugProvider = slugProvider;
+        this.cache = ProblemDetailCache.getInstance(context);
+        this.loader = ProblemDetailLoader.getInstance(context);
+    }
+
+    /**
+     * Start prefetching for a list; call {@link #release()} when the screen is destroyed
+     */
+    public static DetailPrefetcher attach(Context context, RecyclerView recyclerView,
+                                          LinearLayoutManager layoutManager, SlugProvider slugProvider) {
+        DetailPrefetcher prefetcher = new DetailPrefetcher(context, recyclerView, layoutManager, slugProvider);
+        recyclerView.addOnScrollListener(prefetcher.scrollListener);
+        recyclerView.addOnItemTouchListener(prefetcher.touchListener);
+        prefetcher.onListChanged();
+        return prefetcher;
+    }
+
+    /**
+     * Re-check the visible rows after the list contents changed without scrolling
+     */
+    public void onListChanged() {
+        mainHandler.removeCallbacks(dwellCheck);
+        mainHandler.postDelayed(dwellCheck, DWELL_MS);
+    }
+
+    /**
+     * Detach from the list and cancel everything queued or running
+     */
+    public void release() {
+        released = true;
+        mainHandler.removeCallbacks(dwellCheck);
+        recyclerView.removeOnScrollListener(scrollListener);
+        recyclerView.removeOnItemTouchListener(touchListener);
+        queue.clear();
+        for (ProblemDetailLoader.Handle handle : running.values()) {
+            handle.cancel();
+        }
+        running.clear();
+        cacheExecutor.shutdownNow();
+    }
+
+    private void onRowPressed(int position) {
+        String slug = slugAt(position);
+        if (slug == null) {
+            return;
+        }
+        pressedSlug = slug;
+        if (warm.contains(slug) || running.containsKey(slug) || checking.contains(slug)) {
+            return;
+        }
+        queue.remove(slug);
+        queue.addFirst(slug);
+        startNext();
+    }
+
+    private void prefetchVisibleRows() {
+        if (released || recyclerView.getScrollState() != RecyclerView.SCROLL_STATE_IDLE) {
+            return;
+        }
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION) {
+            return;
+        }
+        for (int position = first; position <= last; position++) {
+            String slug = slugAt(position);
+            if (slug != null && !warm.contains(slug) && !running.containsKey(slug)
+                    && !checking.contains(slug) && !queue.contains(slug)) {
+                queue.addLast(slug);
+            }
+        }
+        startNext();
+    }
+
+    /**
+     * Cancel queued and running loads whose rows are no longer on screen
+     */
+    private void dropInvisible() {
+        if (queue.isEmpty() && running.isEmpty()) {
+            return;
+        }
+        Set<String> visible = visibleSlugs();
+        for (Iterator<String> it = queue.iterator(); it.hasNext(); ) {
+            if (!visible.contains(it.next())) {
+                it.remove();
+            }
+        }
+        for (Iterator<Map.Entry<String, ProblemDetailLoader.Handle>> it = running.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, ProblemDetailLoader.Handle> entry = it.next();
+            if (!visible.contains(entry.getKey()) && !entry.getKey().equals(pressedSlug)) {
+                entry.getValue().cancel();
+                it.remove();
+            }
+        }
+        startNext();
+    }
+
+    private void startNext() {
+        while (!released && !queue.isEmpty() && running.size() + checking.size() < MAX_CONCURRENT) {
+            String slug = queue.pollFirst();
+            checking.add(slug);
+            cacheExecutor.execute(() -> {
+                boolean fresh = cache.isFresh(slug);
+                mainHandler.post(() -> onCacheChecked(slug, fresh));
+            });
+        }
+    }
+
+    private void onCacheChecked(String slug, boolean fresh) {
+        checking.remove(slug);
+        if (released) {
+            return;
+        }
+        if (fresh) {
+            warm.add(slug);
+        } else if (slug.equals(pressedSlug) || visibleSlugs().contains(slug)) {
+            Log.d(TAG, "Prefetching " + slug);
+            running.put(slug, loader.prefetch(slug, new ProblemDetailLoader.Listener() {
+                @Override
+                public void onLoaded(ProblemDetail detail) {
+                    mainHandler.post(() -> onLoadFinished(slug, true));
+                }
+
+                @Override
+                public void onFailed(Exception error) {
+                    Log.d(TAG, "Prefetch of " + slug + " failed: " + error.getMessage());
+                    mainHandler.post(() -> onLoadFinished(slug, false));
+                }
+            }));
+        }
+        startNext();
+    }
+
+    private void onLoadFinished(String slug, boolean success) {
+        if (running.remove(slug) == null) {
+            // Cancelled in the meantime
+            return;
+        }
+        if (success) {
+            warm.add(slug);
+        }
+        startNext();
+    }
+
+    private Set<String> visibleSlugs() {
+        Set<String> slugs = new HashSet<>();
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first != RecyclerView.NO_POSITION) {
+            for (int position = first; position <= last; position++) {
+                String slug = slugAt(position);
+                if (slug != null) {
+                    slugs.add(slug);
+                }
+            }
+        }
+        return slugs;
+    }
+
+    private String slugAt(int position) {
+        if (position == RecyclerView.NO_POSITION) {
+            return null;
+        }
+        String slug = slugProvider.getTitleSlug(position);
+        return slug == null || slug.isEmpty() ? null : slug;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.codestreak.problems;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FilterPipeline - Debounced background filtering for the problem list screens
+ * Requests are made on the main thread and computed on a single worker thread. Each
+ * request supersedes the previous one: a request still waiting for its debounce delay
+ * is dropped, a queued one is skipped and a result computed for an outdated request is
+ * never delivered.
+ *
+ * Work that mutates the data being filtered, or reads it like a page load, can be
+ * queued with {@link #execute} so it is ordered with the filter tasks and never runs
+ * concurrently with them. T is the type of a filter result.
+ */
+public final class FilterPipeline<T> {
+    private static final String TAG = "FilterPipeline";
+
+    /**
+     * Filter + sort work, run on the worker thread. Everything it reads from the main
+     * thread must be captured when the task is created.
+     */
+    public interface Task<T> {
+        T run();
+    }
+
+    /**
+     * Receives the result of the latest request on the main thread
+     */
+    public interface Callback<T> {
+        void onResult(T result);
+    }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService worker = Executors.newSingleThreadExecutor();
+    private final AtomicInteger generation = new AtomicInteger();
+    private final long debounceMs;
+    private Runnable pendingRequest; // main thread only
+
+    public FilterPipeline(long debounceMs) {
+        this.debounceMs = debounceMs;
+    }
+
+    /**
+     * Request a filter after the debounce delay, e.g. from a TextWatcher.
+     * Requests made within the delay are coalesced into the last one.
+     */
+    public void submit(Task<T> task, Callback<T> callback) {
+        int requestGeneration = newGeneration();
+        pendingRequest = () -> {
+            pendingRequest = null;
+            dispatch(requestGeneration, task, callback);
+        };
+        mainHandler.postDelayed(pendingRequest, debounceMs);
+    }
+
+    /**
+     * Request a filter right away, e.g. after a dialog selection or a new page of data
+     */
+    public void submitNow(Task<T> task, Callback<T> callback) {
+        dispatch(newGeneration(), task, callback);
+    }
+
+    /**
+     * Run work on the worker thread, after every request already queued
+     */
+    public void execute(Runnable work) {
+        if (!worker.isShutdown()) {
+            worker.execute(work);
+        }
+    }
+
+    /**
+     * Drop any pending or running request without delivering its result
+     */
+    public void cancel() {
+        newGeneration();
+    }
+
+    public void shutdown() {
+        cancel();
+        worker.shutdownNow();
+    }
+
+    private int newGeneration() {
+        if (pendingRequest != null) {
+            mainHandler.removeCallbacks(pendingRequest);
+            pendingRequest = null;
+        }
+        return generation.incrementAndGet();
+    }
+
+    private void dispatch(int requestGeneration, Task<T> task, Callback<T> callback) {
+        execute(() -> {
+            if (requestGeneration != generation.get()) {
+                return; // Superseded while queued
+            }
+
+            T result;
+            try {
+                result = task.run();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Filter task failed", e);
+                return;
+            }
+
+            mainHandler.post(() -> {
+                if (requestGeneration == generation.get()) {
+                    callback.onResult(result);
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.codestreak.problems;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HtmlText - Single pass conversion of LeetCode problem HTML to lightweight markdown
+ * Tags, entities and whitespace are handled in one scan that appends to a single
+ * builder, instead of a chain of regex replacements that each copy the whole string.
+ * Line structure is kept: paragraphs become blank lines, list items become "• " lines,
+ * {@code <pre>} blocks are fenced with ``` and copied verbatim, {@code <sup>} becomes
+ * "^" (so 10<sup>4</sup> reads 10^4). Elsewhere runs of whitespace collapse to one space.
+ */
+final class HtmlText {
+    private static final Map<String, String> ENTITIES = new HashMap<>();
+
+    static {
+        ENTITIES.put("nbsp", " ");
+        ENTITIES.put("amp", "&");
+        ENTITIES.put("lt", "<");
+        ENTITIES.put("gt", ">");
+        ENTITIES.put("quot", "\"");
+        ENTITIES.put("apos", "'");
+        ENTITIES.put("ldquo", "\"");
+        ENTITIES.put("rdquo", "\"");
+        ENTITIES.put("lsquo", "'");
+        ENTITIES.put("rsquo", "'");
+        ENTITIES.put("ndash", "-");
+        ENTITIES.put("mdash", "—");
+        ENTITIES.put("hellip", "...");
+        ENTITIES.put("le", "≤");
+        ENTITIES.put("ge", "≥");
+        ENTITIES.put("ne", "≠");
+        ENTITIES.put("times", "×");
+    }
+
+    // Longest entity name worth looking up, numeric ones included
+    private static final int MAX_ENTITY_LENGTH = 10;
+
+    private HtmlText() {}
+
+    /**
+     * Convert problem HTML to markdown-style text
+     */
+    static String toMarkdown(String html) {
+        return new Writer(html.length()).convert(html).finish();
+    }
+
+    /**
+     * Decode entities and normalize whitespace in plain text, keeping line breaks
+     */
+    static String normalize(String text) {
+        Writer writer = new Writer(text.length());
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '&') {
+                i = writer.entity(text, i);
+            } else if (c == '\n') {
+                writer.lineBreak(writer.trailingNewlines + 1);
+            } else {
+                writer.text(c);
+            }
+        }
+        return writer.finish();
+    }
+
+    /**
+     * Drop the markdown markers produced by {@link #toMarkdown}: bold markers, italic
+     * markers around a single character, code spans and fences, and backslash escapes
+     */
+    static String stripMarkdown(String text) {
+        int length = text.length();
+        StringBuilder out = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == '*') {
+                if (i + 1 < length && text.charAt(i + 1) == '*') {
+                    i += 2;
+                    continue;
+                }
+                if (i + 2 < length && Character.isLetterOrDigit(text.charAt(i + 1)) && text.charAt(i + 2) == '*') {
+                    out.append(text.charAt(i + 1));
+                    i += 3;
+                    continue;
+                }
+            } else if (c == '`') {
+                if (text.startsWith("```", i)) {
+                    // Drop the fence line
+                    i += 3;
+                    if (i < length && text.charAt(i) == '\n') {
+                        i++;
+                    }
+                    continue;
+                }
+                int close = text.indexOf('`', i + 1);
+                if (close > i + 1) {
+                    out.append(text, i + 1, close);
+                    i = close + 1;
+                    continue;
+                }
+            } else if (c == '\\' && i + 1 < length) {
+                out.append(text.charAt(i + 1));
+                i += 2;
+                continue;
+            }
+            out.append(c);
+            i++;
+        }
+        return trimLines(out);
+    }
+
+    /**
+     * Collapse three or more newlines into a blank line and trim the ends
+     */
+    private static String trimLines(CharSequence text) {
+        StringBuilder out = new StringBuilder(text.length());
+        int newlines = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                // Trailing spaces on a line
+                while (out.length() > 0 && out.charAt(out.length() - 1) == ' ') {
+                    out.setLength(out.length() - 1);
+                }
+                if (out.length() > 0 && newlines < 2) {
+                    out.append('\n');
+                }
+                newlines++;
+            } else {
+                if (c == ' ' && (out.length() == 0 || newlines > 0)) {
+                    continue;
+                }
+                newlines = 0;
+                out.append(c);
+            }
+        }
+        return out.toString().trim();
+    }
+
+    /**
+     * Output buffer that tracks the state the regex chain needed separate passes for
+     */
+    private static final class Writer {
+        private final StringBuilder out;
+        private int trailingNewlines;
+        private boolean pendingSpace;
+        private boolean inPre;
+        // Like browsers, drop a newline right after <pre>
+        private boolean preStart;
+
+        Writer(int capacity) {
+            this.out = new StringBuilder(capacity);
+        }
+
+        Writer convert(String html) {
+            int length = html.length();
+            int i = 0;
+            while (i < length) {
+                char c = html.charAt(i);
+                if (c == '<' && i + 1 < length && isTagStart(html.charAt(i + 1))) {
+                    int end = html.indexOf('>', i + 2);
+                    if (end < 0) {
+                        // Unterminated tag, nothing after it can be text
+                        break;
+                    }
+                    tag(html, i + 1, end);
+                    i = end + 1;
+                } else if (c == '&') {
+                    i = entity(html, i) + 1;
+                } else {
+                    text(c);
+                    i++;
+                }
+            }
+            return this;
+        }
+
+        private static boolean isTagStart(char c) {
+            return c == '/' || c == '!' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+        }
+
+        /**
+         * Handle the tag between start (after '<') and end (the '>')
+         */
+        private void tag(String html, int start, int end) {
+            boolean closing = html.charAt(start) == '/';
+            int nameStart = closing ? start + 1 : start;
+            int nameEnd = nameStart;
+            while (nameEnd < end && Character.isLetterOrDigit(html.charAt(nameEnd))) {
+                nameEnd++;
+            }
+            int nameLength = nameEnd - nameStart;
+
+            if (is(html, nameStart, nameLength, "pre")) {
+                lineBreak(1);
+                out.append("```\n");
+                trailingNewlines = 1;
+                pendingSpace = false;
+                inPre = !closing;
+                preStart = inPre;
+            } else if (is(html, nameStart, nameLength, "code")) {
+                if (!inPre) {
+                    marker("`", closing);
+                }
+            } else if (is(html, nameStart, nameLength, "strong") || is(html, nameStart, nameLength, "b")) {
+                marker("**", closing);
+            } else if (is(html, nameStart, nameLength, "em") || is(html, nameStart, nameLength, "i")) {
+                marker("*", closing);
+            } else if (is(html, nameStart, nameLength, "p")) {
+                lineBreak(2);
+            } else if (is(html, nameStart, nameLength, "br")) {
+                if (inPre) {
+                    out.append('\n');
+                    trailingNewlines++;
+                } else {
+                    lineBreak(trailingNewlines + 1);
+                }
+            } else if (is(html, nameStart, nameLength, "li")) {
+                lineBreak(1);
+                if (!closing) {
+                    out.append("• ");
+                    trailingNewlines = 0;
+                }
+            } else if (is(html, nameStart, nameLength, "ul") || is(html, nameStart, nameLength, "ol")
+                    || is(html, nameStart, nameLength, "div")) {
+                lineBreak(1);
+            } else if (is(html, nameStart, nameLength, "sup") && !closing) {
+                flushSpace();
+                out.append('^');
+                trailingNewlines = 0;
+            }
+            // Any other tag is dropped
+        }
+
+        private static boolean is(String html, int start, int length, String name) {
+            return length == name.length() && html.regionMatches(true, start, name, 0, length);
+        }
+
+        /**
+         * Inline formatting marker; an opening one takes the pending space before it
+         */
+        private void marker(String marker, boolean closing) {
+            if (!closing) {
+                flushSpace();
+            }
+            out.append(marker);
+            trailingNewlines = 0;
+        }
+
+        /**
+         * Decode the entity starting at '&' and return the index of its last character
+         */
+        int entity(String text, int amp) {
+            int limit = Math.min(text.length(), amp + MAX_ENTITY_LENGTH + 2);
+            int semicolon = -1;
+            for (int j = amp + 1; j < limit; j++) {
+                char c = text.charAt(j);
+                if (c == ';') {
+                    semicolon = j;
+                    break;
+                }
+                if (!Character.isLetterOrDigit(c) && c != '#') {
+                    break;
+                }
+            }
+            if (semicolon < 0 || semicolon == amp + 1) {
+                text('&');
+                return amp;
+            }
+
+            if (text.charAt(amp + 1) == '#') {
+                int codePoint = parseCodePoint(text, amp + 2, semicolon);
+                if (codePoint > 0) {
+                    if (codePoint == 0xA0) {
+                        text(' ');
+                    } else if (Character.isBmpCodePoint(codePoint)) {
+                        text((char) codePoint);
+                    } else {
+                        flushSpace();
+                        out.appendCodePoint(codePoint);
+                        trailingNewlines = 0;
+                    }
+                }
+            } else {
+                String decoded = ENTITIES.get(text.substring(amp + 1, semicolon));
+                if (decoded != null) {
+                    for (int k = 0; k < decoded.length(); k++) {
+                        text(decoded.charAt(k));
+                    }
+                }
+                // Unknown named entities are dropped
+            }
+            return semicolon;
+        }
+
+        private static int parseCodePoint(String text, int start, int end) {
+            int radix = 10;
+            if (start < end && (text.charAt(start) == 'x' || text.charAt(start) == 'X')) {
+                radix = 16;
+                start++;
+            }
+            if (start == end) {
+                return -1;
+            }
+            int value = 0;
+            for (int i = start; i < end; i++) {
+                int digit = Character.digit(text.charAt(i), radix);
+                if (digit < 0 || value > 0x10FFFF) {
+                    return -1;
+                }
+                value = value * radix + digit;
+            }
+            return Character.isValidCodePoint(value) ? value : -1;
+        }
+
+        void text(char c) {
+            if (inPre) {
+                boolean skip = c == '\r' || (preStart && c == '\n');
+                preStart = false;
+                if (!skip) {
+                    out.append(c);
+                    trailingNewlines = c == '\n' ? trailingNewlines + 1 : 0;
+                }
+                return;
+            }
+            if (Character.isWhitespace(c) || c == '\u00A0') {
+                // Source newlines are layout, only tags make line breaks
+                pendingSpace = true;
+                return;
+            }
+            flushSpace();
+            out.append(c);
+            trailingNewlines = 0;
+        }
+
+        private void flushSpace() {
+            if (pendingSpace && trailingNewlines == 0 && out.length() > 0) {
+                out.append(' ');
+            }
+            pendingSpace = false;
+        }
+
+        /**
+         * End the current line so the output ends with at least count newlines (at most 2)
+         */
+        void lineBreak(int count) {
+            pendingSpace = false;
+            if (out.length() == 0) {
+                return;
+            }
+            while (trailingNewlines == 0 && out.length() > 0 && out.charAt(out.length() - 1) == ' ') {
+                out.setLength(out.length() - 1);
+            }
+            count = Math.min(count, 2);
+            while (trailingNewlines < count) {
+                out.append('\n');
+                trailingNewlines++;
+            }
+        }
+
+        String finish() {
+            int end = out.length();
+            while (end > 0 && Character.isWhitespace(out.charAt(end - 1))) {
+                end--;
+            }
+            return out.substring(0, end);
+        }
+    }
+}
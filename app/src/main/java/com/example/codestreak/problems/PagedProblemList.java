@@ -0,0 +1,361 @@
+package com.example.codestreak.problems;
+
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * PagedProblemList - Filter result whose problems are loaded one page at a time
+ * The list is the ordinals a filter selected, so its full size is known up front and
+ * rows whose page is not loaded yet are shown as placeholders. Binding a row loads the
+ * pages within the prefetch distance on the load executor; they are handed to the list
+ * on the main thread and the adapter rebinds their rows. Only a bounded number of pages
+ * is kept: when there are too many, the ones farthest from the last bound row are
+ * dropped, and {@link #trimMemory()} drops everything outside the prefetch window.
+ *
+ * A new list is built on the load executor, diffed by ordinal against the list it
+ * replaces, with the pages around the rows that stay on screen already loaded. The
+ * diff is skipped when the order changed or most rows come or go, e.g. on a new sort
+ * order, since diffing a permutation of thousands of rows costs more than rebinding
+ * the visible ones. Everything else runs on the main thread.
+ */
+public final class PagedProblemList<T> {
+    /**
+     * Payload of the change notifications for loaded rows; a row rebound with a payload
+     * keeps its view holder, so a refreshed row does not flash
+     */
+    public static final Object PAYLOAD_LOADED = new Object();
+
+    /**
+     * Reads the problem at an ordinal, on the load executor
+     */
+    public interface Loader<T> {
+        T load(int ordinal);
+    }
+
+    /**
+     * How the lists of one screen load their pages
+     */
+    public static final class Config<T> {
+        final Loader<T> loader;
+        final Executor loadExecutor;
+        final Executor mainExecutor;
+        final int pageSize;
+        final int prefetchDistance;
+        final int maxPages;
+
+        /**
+         * @param loadExecutor runs page loads, ordered with whatever mutates the loader's data
+         * @param prefetchDistance rows loaded ahead of (and behind) the last bound row
+         * @param maxPages pages kept at most; must cover the prefetch window
+         */
+        public Config(Loader<T> loader, Executor loadExecutor, Executor mainExecutor,
+                      int pageSize, int prefetchDistance, int maxPages) {
+            if (pageSize <= 0 || prefetchDistance < 0) {
+                throw new IllegalArgumentException("Invalid page size or prefetch distance");
+            }
+            int windowPages = 2 * ((prefetchDistance + pageSize - 1) / pageSize) + 1;
+            if (maxPages < windowPages) {
+                throw new IllegalArgumentException("maxPages must cover the " + windowPages + " pages of the prefetch window");
+            }
+            this.loader = loader;
+            this.loadExecutor = loadExecutor;
+            this.mainExecutor = mainExecutor;
+            this.pageSize = pageSize;
+            this.prefetchDistance = prefetchDistance;
+            this.maxPages = maxPages;
+        }
+    }
+
+    private static final int[] NO_ORDINALS = new int[0];
+    // Lists that differ in more than this share of rows are not diffed
+    private static final int MAX_DIFF_CHANGE_PERCENT = 50;
+
+    private final Config<T> config;
+    private final int[] ordinals;
+    private final Object[][] pages;
+    // Pages with a load queued or running
+    private final boolean[] requested;
+    private int loadedPages;
+    private int lastPosition;
+    private volatile boolean detached;
+    private RecyclerView.Adapter<?> adapter;
+    // Row changes from the list this one replaces; released once dispatched
+    private int[] diffBase;
+    private DiffUtil.DiffResult diff;
+
+    private PagedProblemList(Config<T> config, int[] ordinals) {
+        this.config = config;
+        this.ordinals = ordinals;
+        int pageCount = config != null ? (ordinals.length + config.pageSize - 1) / config.pageSize : 0;
+        this.pages = new Object[pageCount][];
+        this.requested = new boolean[pageCount];
+    }
+
+    /**
+     * A list without rows, e.g. before the first filter result
+     */
+    public static <T> PagedProblemList<T> empty() {
+        return new PagedProblemList<>(null, NO_ORDINALS);
+    }
+
+    /**
+     * A list with every problem already loaded, e.g. a short list kept in memory anyway
+     */
+    public static <T> PagedProblemList<T> of(List<T> items) {
+        int[] ordinals = new int[items.size()];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = i;
+        }
+        // One page holding everything, so nothing is ever loaded or dropped
+        Config<T> config = new Config<>(items::get, Runnable::run, Runnable::run, Math.max(1, ordinals.length), 0, 1);
+        PagedProblemList<T> list = new PagedProblemList<>(config, ordinals);
+        if (ordinals.length > 0) {
+            list.pages[0] = items.toArray();
+            list.loadedPages = 1;
+        }
+        return list;
+    }
+
+    /**
+     * Build the list for a filter result; call this on the load executor. The pages
+     * around the first visible row are loaded before it returns.
+     * @param ordinals the result, in display order; the array belongs to the list
+     * @param previous the list currently shown, or null
+     * @param firstVisible first visible position in previous, or -1 to start at the top
+     */
+    public static <T> PagedProblemList<T> create(Config<T> config, int[] ordinals,
+                                                 PagedProblemList<T> previous, int firstVisible) {
+        PagedProblemList<T> list = new PagedProblemList<>(config, ordinals);
+        int initialPosition = 0;
+        if (previous != null && !worthDiffing(previous.ordinals, ordinals)) {
+            // Shown with notifyDataSetChanged, which keeps the scroll position
+            initialPosition = Math.max(firstVisible, 0);
+        } else if (previous != null) {
+            int[] oldOrdinals = previous.ordinals;
+            list.diffBase = oldOrdinals;
+            list.diff = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                @Override
+                public int getOldListSize() {
+                    return oldOrdinals.length;
+                }
+
+                @Override
+                public int getNewListSize() {
+                    return ordinals.length;
+                }
+
+                @Override
+                public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                    return oldOrdinals[oldPosition] == ordinals[newPosition];
+                }
+
+                @Override
+                public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                    // Loaded rows are rebound anyway once the list is shown
+                    return true;
+                }
+            }, false); // Rows keep their order, see worthDiffing
+            if (firstVisible >= 0 && firstVisible < oldOrdinals.length) {
+                // The row that stays on top after the diff, or the one that took its place
+                int converted = list.diff.convertOldPositionToNew(firstVisible);
+                initialPosition = converted != DiffUtil.DiffResult.NO_POSITION ? converted : firstVisible;
+            }
+        }
+
+        if (ordinals.length > 0) {
+            initialPosition = Math.min(initialPosition, ordinals.length - 1);
+            list.lastPosition = initialPosition;
+            for (int page = list.firstWindowPage(initialPosition); page <= list.lastWindowPage(initialPosition); page++) {
+                list.pages[page] = list.loadPage(page);
+                list.loadedPages++;
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Whether a diff from old to new is cheap and worth animating: the rows in both keep
+     * their relative order, so there are no moves, and at most MAX_DIFF_CHANGE_PERCENT
+     * of the rows are inserted or removed. Linear in the sizes of the lists.
+     */
+    static boolean worthDiffing(int[] oldOrdinals, int[] newOrdinals) {
+        BitSet inOld = new BitSet();
+        for (int ordinal : oldOrdinals) {
+            inOld.set(ordinal);
+        }
+        BitSet inNew = new BitSet();
+        for (int ordinal : newOrdinals) {
+            inNew.set(ordinal);
+        }
+
+        int changes = 0;
+        int next = 0;
+        for (int ordinal : oldOrdinals) {
+            if (!inNew.get(ordinal)) {
+                changes++;
+                continue;
+            }
+            while (next < newOrdinals.length && !inOld.get(newOrdinals[next])) {
+                changes++;
+                next++;
+            }
+            // The next row of the new list that was already shown must be this one
+            if (next == newOrdinals.length || newOrdinals[next] != ordinal) {
+                return false;
+            }
+            next++;
+        }
+        changes += newOrdinals.length - next;
+        return changes * 100L <= (long) MAX_DIFF_CHANGE_PERCENT * Math.max(oldOrdinals.length, newOrdinals.length);
+    }
+
+    public int size() {
+        return ordinals.length;
+    }
+
+    /**
+     * The problem at a position, or null while its page is not loaded
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int position) {
+        Object[] page = pages[position / config.pageSize];
+        return page != null ? (T) page[position % config.pageSize] : null;
+    }
+
+    public int ordinalAt(int position) {
+        return ordinals[position];
+    }
+
+    /**
+     * The ordinals in display order; the array must not be modified
+     */
+    public int[] ordinals() {
+        return ordinals;
+    }
+
+    /**
+     * Note that a row is being bound: loads the pages within the prefetch distance and
+     * drops the farthest pages if too many are kept
+     */
+    public void loadAround(int position) {
+        if (position < 0 || position >= ordinals.length) {
+            return;
+        }
+        lastPosition = position;
+        for (int page = firstWindowPage(position); page <= lastWindowPage(position); page++) {
+            if (pages[page] == null && !requested[page]) {
+                requestPage(page);
+            }
+        }
+        evictFarthestPages();
+    }
+
+    /**
+     * Drop every page outside the prefetch window of the last bound row; they are
+     * loaded again when their rows are bound
+     */
+    public void trimMemory() {
+        int first = ordinals.length > 0 ? firstWindowPage(lastPosition) : 0;
+        int last = ordinals.length > 0 ? lastWindowPage(lastPosition) : -1;
+        for (int page = 0; page < pages.length; page++) {
+            if ((page < first || page > last) && pages[page] != null) {
+                pages[page] = null;
+                loadedPages--;
+            }
+        }
+    }
+
+    /**
+     * Make this the list shown by an adapter that was showing previous, or null. The
+     * adapter must already report this list's size. Row changes are dispatched from
+     * the diff, loaded rows are rebound with their current problems, and from then on
+     * rows are rebound as their pages arrive.
+     */
+    public void showIn(RecyclerView.Adapter<?> adapter, PagedProblemList<T> previous) {
+        if (previous != null) {
+            previous.detach();
+        }
+        this.adapter = adapter;
+        if (previous != null && diff != null && diffBase == previous.ordinals) {
+            diff.dispatchUpdatesTo(adapter);
+            for (int page = 0; page < pages.length; page++) {
+                if (pages[page] != null) {
+                    adapter.notifyItemRangeChanged(page * config.pageSize, pages[page].length, PAYLOAD_LOADED);
+                }
+            }
+        } else {
+            adapter.notifyDataSetChanged();
+        }
+        diff = null;
+        diffBase = null;
+    }
+
+    /**
+     * Stop loading and delivering pages, e.g. once the list is replaced
+     */
+    public void detach() {
+        detached = true;
+        adapter = null;
+    }
+
+    private int firstWindowPage(int position) {
+        return Math.max(0, position - config.prefetchDistance) / config.pageSize;
+    }
+
+    private int lastWindowPage(int position) {
+        return Math.min(ordinals.length - 1, position + config.prefetchDistance) / config.pageSize;
+    }
+
+    private void requestPage(int page) {
+        requested[page] = true;
+        config.loadExecutor.execute(() -> {
+            if (detached) {
+                return;
+            }
+            Object[] items = loadPage(page);
+            config.mainExecutor.execute(() -> deliverPage(page, items));
+        });
+    }
+
+    private Object[] loadPage(int page) {
+        int from = page * config.pageSize;
+        Object[] items = new Object[Math.min(config.pageSize, ordinals.length - from)];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = config.loader.load(ordinals[from + i]);
+        }
+        return items;
+    }
+
+    private void deliverPage(int page, Object[] items) {
+        requested[page] = false;
+        if (detached) {
+            return;
+        }
+        if (pages[page] == null) {
+            loadedPages++;
+        }
+        pages[page] = items;
+        evictFarthestPages();
+        if (adapter != null && pages[page] != null) {
+            adapter.notifyItemRangeChanged(page * config.pageSize, items.length, PAYLOAD_LOADED);
+        }
+    }
+
+    private void evictFarthestPages() {
+        int center = lastPosition / config.pageSize;
+        while (loadedPages > config.maxPages) {
+            int farthest = -1;
+            for (int page = 0; page < pages.length; page++) {
+                if (pages[page] != null && (farthest < 0 || Math.abs(page - center) > Math.abs(farthest - center))) {
+                    farthest = page;
+                }
+            }
+            pages[farthest] = null;
+            loadedPages--;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.codestreak.problems;
+
+import java.util.List;
+
+/**
+ * Problem - One problem as listed on every problem screen
+ * Immutable and compact: the difficulty is a byte code, topics and companies are
+ * interned name lists and the strings come from pools, see ProblemDictionary.
+ */
+public class Problem {
+    private final int id;
+    private final String title;
+    // Null when it is the slug derived from the title
+    private final String titleSlug;
+    private final byte difficulty;
+    private final float acceptanceRate;
+    private final ProblemDictionary.Names companies;
+    private final ProblemDictionary.Names topics;
+    
+    /**
+     * @param companies comma-separated company names
+     */
+    public Problem(int id, String title, String titleSlug, String difficulty, double acceptanceRate, String companies, List<String> topics) {
+        this(id, title, titleSlug, ProblemDictionary.difficultyCode(difficulty), (float) acceptanceRate,
+                ProblemDictionary.names(companies), ProblemDictionary.names(topics));
+    }
+    
+    /**
+     * A problem whose slug is derived from its title
+     */
+    public Problem(int id, String title, String difficulty, double acceptanceRate, List<String> companies, List<String> topics) {
+        this(id, title, null, ProblemDictionary.difficultyCode(difficulty), (float) acceptanceRate,
+                ProblemDictionary.names(companies), ProblemDictionary.names(topics));
+    }
+    
+    public Problem(int id, String title, String titleSlug, byte difficulty, float acceptanceRate,
+                   ProblemDictionary.Names companies, ProblemDictionary.Names topics) {
+        this.id = id;
+        this.title = ProblemDictionary.intern(title);
+        this.titleSlug = titleSlug == null || titleSlug.equals(ProblemDictionary.slugOf(title))
+                ? null : ProblemDictionary.intern(titleSlug);
+        this.difficulty = difficulty;
+        this.acceptanceRate = acceptanceRate;
+        this.companies = companies;
+        this.topics = topics;
+    }
+    
+    // Getters
+    public int getId() { return id; }
+    public String getTitle() { return title; }
+    public String getTitleSlug() { return titleSlug != null ? titleSlug : ProblemDictionary.slugOf(title); }
+    public String getDifficulty() { return ProblemDictionary.difficultyName(difficulty); }
+    public byte getDifficultyCode() { return difficulty; }
+    public double getAcceptanceRate() { return acceptanceRate; }
+    public String getCompanies() { return companies.label(); }
+    public ProblemDictionary.Names getCompanyList() { return companies; }
+    public String getCompany() { return companies.isEmpty() ? "" : companies.get(0); }
+    public ProblemDictionary.Names getTopics() { return topics; }
+}
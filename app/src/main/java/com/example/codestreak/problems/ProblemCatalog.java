@@ -0,0 +1,288 @@
+package com.example.codestreak.problems;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ProblemCatalog - Persistent local copy of the LeetCode problem list
+ * Stored as one compact binary file: a string table for the repeated topic and
+ * company names followed by fixed-layout problem records. The catalog remembers how
+ * far into the remote problem list it has synced, so a refresh only needs to fetch
+ * questions added after that offset.
+ *
+ * Every change bumps the revision stamp; a file written with another format version
+ * is discarded and rebuilt by the next full sync.
+ */
+public final class ProblemCatalog {
+    private static final String TAG = "ProblemCatalog";
+    private static final String FILE_NAME = "problem_catalog.bin";
+    private static final int FILE_MAGIC = 0x50434154; // "PCAT"
+    private static final int FORMAT_VERSION = 1;
+
+    // Resync at most once a day unless the last sync stopped before the end of the list
+    public static final long SYNC_INTERVAL_MS = 24 * 60 * 60 * 1000L;
+
+    private static volatile ProblemCatalog instance;
+
+    private final File file;
+    private List<Problem> problems = Collections.emptyList();
+    private final Set<Integer> knownIds = new HashSet<>();
+    private int revision;
+    private long lastSyncAt;
+    private int remoteCount;
+    private boolean complete;
+    private boolean loaded;
+
+    public static ProblemCatalog getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ProblemCatalog.class) {
+                if (instance == null) {
+                    instance = new ProblemCatalog(new File(context.getApplicationContext().getFilesDir(), FILE_NAME));
+                }
+            }
+        }
+        return instance;
+    }
+
+    ProblemCatalog(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Problems in the catalog, sorted by id. Reads the file on first use, so call
+     * this off the main thread. The returned list is a snapshot and is never modified.
+     */
+    public synchronized List<Problem> getProblems() {
+        ensureLoaded();
+        return problems;
+    }
+
+    public synchronized boolean isEmpty() {
+        ensureLoaded();
+        return problems.isEmpty();
+    }
+
+    /**
+     * Number of remote questions (including paid-only ones) covered by the catalog,
+     * i.e. the offset an incremental sync continues from
+     */
+    public synchronized int getRemoteCount() {
+        ensureLoaded();
+        return remoteCount;
+    }
+
+    /**
+     * Version stamp, bumped whenever the catalog content changes
+     */
+    public synchronized int getRevision() {
+        ensureLoaded();
+        return revision;
+    }
+
+    public synchronized long getLastSyncAt() {
+        ensureLoaded();
+        return lastSyncAt;
+    }
+
+    /**
+     * Whether the catalog should be synced: it is empty, the last sync stopped early
+     * or the sync interval has passed
+     */
+    public synchronized boolean needsSync(long now) {
+        ensureLoaded();
+        return problems.isEmpty() || !complete || now - lastSyncAt > SYNC_INTERVAL_MS;
+    }
+
+    /**
+     * Replace the catalog with the result of a full download
+     * @param remoteCount number of questions in the remote list, including skipped ones
+     */
+    public synchronized void replaceAll(List<Problem> newProblems, int remoteCount) {
+        ensureLoaded();
+        List<Problem> sorted = new ArrayList<>(newProblems);
+        sorted.sort((p1, p2) -> Integer.compare(p1.getId(), p2.getId()));
+
+        knownIds.clear();
+        for (Problem problem : sorted) {
+            knownIds.add(problem.getId());
+        }
+        this.problems = Collections.unmodifiableList(sorted);
+        this.remoteCount = remoteCount;
+        this.complete = true;
+        this.lastSyncAt = System.currentTimeMillis();
+        this.revision++;
+        save();
+    }
+
+    /**
+     * Add one page of an incremental sync. Problems whose id is already in the
+     * catalog are ignored.
+     * @param remoteCount remote offset reached after this page
+     * @param reachedEnd whether this page was the last one of the remote list
+     * @return the problems that were actually added
+     */
+    public synchronized List<Problem> appendPage(List<Problem> pageProblems, int remoteCount, boolean reachedEnd) {
+        ensureLoaded();
+        List<Problem> added = new ArrayList<>();
+        for (Problem problem : pageProblems) {
+            if (knownIds.add(problem.getId())) {
+                added.add(problem);
+            }
+        }
+
+        if (!added.isEmpty()) {
+            List<Problem> merged = new ArrayList<>(problems.size() + added.size());
+            merged.addAll(problems);
+            merged.addAll(added);
+            merged.sort((p1, p2) -> Integer.compare(p1.getId(), p2.getId()));
+            this.problems = Collections.unmodifiableList(merged);
+            this.revision++;
+        }
+        this.remoteCount = Math.max(this.remoteCount, remoteCount);
+        this.complete = reachedEnd;
+        if (reachedEnd) {
+            this.lastSyncAt = System.currentTimeMillis();
+        }
+        save();
+        return added;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!file.exists()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported catalog format");
+            }
+            int storedRevision = in.readInt();
+            long storedSyncAt = in.readLong();
+            int storedRemoteCount = in.readInt();
+            boolean storedComplete = in.readBoolean();
+
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF();
+            }
+
+            int count = in.readInt();
+            List<Problem> loadedProblems = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                String title = in.readUTF();
+                String titleSlug = in.readUTF();
+                String difficulty = strings[in.readUnsignedShort()];
+                double acceptanceRate = in.readDouble();
+                String companies = strings[in.readUnsignedShort()];
+                int topicCount = in.readUnsignedByte();
+                List<String> topics = new ArrayList<>(topicCount);
+                for (int t = 0; t < topicCount; t++) {
+                    topics.add(strings[in.readUnsignedShort()]);
+                }
+                loadedProblems.add(new Problem(id, title, titleSlug, difficulty, acceptanceRate, companies, topics));
+                knownIds.add(id);
+            }
+
+            this.problems = Collections.unmodifiableList(loadedProblems);
+            this.revision = storedRevision;
+            this.lastSyncAt = storedSyncAt;
+            this.remoteCount = storedRemoteCount;
+            this.complete = storedComplete;
+            Log.d(TAG, "Loaded " + count + " problems (revision " + storedRevision + ")");
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Discarding unreadable problem catalog", e);
+            knownIds.clear();
+            problems = Collections.emptyList();
+            file.delete();
+        }
+    }
+
+    private void save() {
+        // Build the string table first so records can refer to it by index
+        Map<String, Integer> stringIndex = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (Problem problem : problems) {
+            intern(problem.getDifficulty(), stringIndex, strings);
+            intern(problem.getCompanies(), stringIndex, strings);
+            for (String topic : problem.getTopics()) {
+                intern(topic, stringIndex, strings);
+            }
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(revision);
+            out.writeLong(lastSyncAt);
+            out.writeInt(remoteCount);
+            out.writeBoolean(complete);
+
+            out.writeInt(strings.size());
+            for (String value : strings) {
+                out.writeUTF(value);
+            }
+
+            out.writeInt(problems.size());
+            for (Problem problem : problems) {
+                out.writeInt(problem.getId());
+                out.writeUTF(problem.getTitle());
+                out.writeUTF(problem.getTitleSlug());
+                out.writeShort(stringIndex.get(nonNull(problem.getDifficulty())));
+                out.writeDouble(problem.getAcceptanceRate());
+                out.writeShort(stringIndex.get(nonNull(problem.getCompanies())));
+                List<String> topics = problem.getTopics();
+                int topicCount = Math.min(topics.size(), 255);
+                out.writeByte(topicCount);
+                for (int t = 0; t < topicCount; t++) {
+                    out.writeShort(stringIndex.get(nonNull(topics.get(t))));
+                }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Error writing problem catalog", e);
+            temp.delete();
+            return;
+        }
+
+        if (!temp.renameTo(file)) {
+            Log.e(TAG, "Error committing problem catalog");
+            temp.delete();
+        }
+    }
+
+    private static void intern(String value, Map<String, Integer> index, List<String> strings) {
+        value = nonNull(value);
+        if (!index.containsKey(value)) {
+            if (strings.size() > 0xFFFF) {
+                throw new IllegalStateException("Catalog string table is full");
+            }
+            index.put(value, strings.size());
+            strings.add(value);
+        }
+    }
+
+    private static String nonNull(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.codestreak.problems;
+
+import java.util.List;
+
+/**
+ * ProblemDetail - Parsed, display-ready sections of one problem
+ * Plain fields so it can be stored as JSON by ProblemDetailCache.
+ */
+public class ProblemDetail {
+    public String description;
+    public String examples;
+    public String constraints;
+    // null when the response had no tags / no hints
+    public List<String> topicTags;
+    public List<String> hints;
+    // e.g. "53.2% Acceptance Rate", null if unknown
+    public String acceptanceText;
+}
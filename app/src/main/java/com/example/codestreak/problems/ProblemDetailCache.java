@@ -0,0 +1,120 @@
+package com.example.codestreak.problems;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.codestreak.cache.DiskObjectCache;
+import com.google.gson.Gson;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProblemDetailCache - Disk-backed problem details keyed by titleSlug
+ * Each record holds the raw GraphQL response together with the sections parsed from
+ * it, so reopening a problem renders without a request or a re-parse. Records stay
+ * readable after their TTL, which is what makes offline reading work: an expired
+ * record is still shown, it is just refreshed when the network allows.
+ *
+ * A record parsed by an older {@link ProblemDetailParser#VERSION} is re-parsed from
+ * its raw response on read and written back.
+ */
+public final class ProblemDetailCache {
+    private static final String TAG = "ProblemDetailCache";
+    private static final String KEY_PREFIX = "problem_detail_";
+    // Problem statements rarely change
+    private static final long TTL_MS = TimeUnit.DAYS.toMillis(7);
+
+    private static volatile ProblemDetailCache instance;
+
+    private final DiskObjectCache store;
+    private final Gson gson = new Gson();
+
+    /**
+     * Stored form of one problem
+     */
+    private static final class Record {
+        int parserVersion;
+        long fetchedAt;
+        String rawResponse;
+        ProblemDetail detail;
+    }
+
+    /**
+     * A cached detail and whether it is still within its TTL
+     */
+    public static final class Cached {
+        public final ProblemDetail detail;
+        public final boolean fresh;
+        public final long fetchedAt;
+
+        Cached(ProblemDetail detail, boolean fresh, long fetchedAt) {
+            this.detail = detail;
+            this.fresh = fresh;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    public static ProblemDetailCache getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ProblemDetailCache.class) {
+                if (instance == null) {
+                    instance = new ProblemDetailCache(DiskObjectCache.getInstance(context));
+                }
+            }
+        }
+        return instance;
+    }
+
+    private ProblemDetailCache(DiskObjectCache store) {
+        this.store = store;
+    }
+
+    /**
+     * Look up a problem; may read from disk, so call it off the main thread
+     * @return the cached detail, or null if the problem was never stored
+     */
+    public Cached get(String titleSlug) {
+        DiskObjectCache.Entry entry = store.get(KEY_PREFIX + titleSlug);
+        if (entry == null) {
+            return null;
+        }
+
+        try {
+            Record record = gson.fromJson(entry.value, Record.class);
+            if (record == null || record.rawResponse == null) {
+                return null;
+            }
+            if (record.parserVersion != ProblemDetailParser.VERSION || record.detail == null) {
+                Log.d(TAG, "Re-parsing " + titleSlug + " stored by parser version " + record.parserVersion);
+                record.detail = ProblemDetailParser.parse(record.rawResponse);
+                record.parserVersion = ProblemDetailParser.VERSION;
+                store.put(KEY_PREFIX + titleSlug, gson.toJson(record), Math.max(1, entry.expiresAt - System.currentTimeMillis()));
+            }
+            return new Cached(record.detail, !entry.isExpired(System.currentTimeMillis()), record.fetchedAt);
+        } catch (Exception e) {
+            Log.w(TAG, "Dropping unreadable detail for " + titleSlug, e);
+            store.remove(KEY_PREFIX + titleSlug);
+            return null;
+        }
+    }
+
+    /**
+     * Whether a problem is stored and within its TTL
+     */
+    public boolean isFresh(String titleSlug) {
+        DiskObjectCache.Entry entry = store.get(KEY_PREFIX + titleSlug);
+        return entry != null && !entry.isExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * Store a successfully parsed response
+     */
+    public void put(String titleSlug, String rawResponse, ProblemDetail detail) {
+        Record record = new Record();
+        record.parserVersion = ProblemDetailParser.VERSION;
+        record.fetchedAt = System.currentTimeMillis();
+        record.rawResponse = rawResponse;
+        record.detail = detail;
+        store.put(KEY_PREFIX + titleSlug, gson.toJson(record), TTL_MS);
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.codestreak.problems;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.codestreak.LeetCodeAPI;
+import com.example.codestreak.network.ResilientCall;
+import com.example.codestreak.network.RetryPolicy;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+
+/**
+ * ProblemDetailLoader - Fetches one problem's details and stores them in ProblemDetailCache
+ * Shared by the detail screen and the list prefetcher. Loads of the same titleSlug
+ * share one request, so opening a problem whose prefetch is still running joins it
+ * instead of starting over. The request is cancelled once every caller has given up.
+ *
+ * Requests go through LeetCodeAPI, so they respect the leetcode.com circuit breaker and
+ * count towards it. The detail screen retries transient failures; a prefetch makes a
+ * single attempt, since the row may be gone before a retry would run, and only starts
+ * while the breaker is closed: it is routinely cancelled on scroll, so it must never
+ * be the half-open probe that decides whether leetcode.com is back.
+ */
+public final class ProblemDetailLoader {
+    private static final String TAG = "ProblemDetailLoader";
+    private static final String LEETCODE_GRAPHQL_URL = "https://leetcode.com/graphql/";
+
+    private static final RetryPolicy DETAIL_POLICY = new RetryPolicy(3, 500, 4000, 20_000);
+    private static final RetryPolicy PREFETCH_POLICY = new RetryPolicy(1, 0, 0, 12_000);
+
+    private static volatile ProblemDetailLoader instance;
+
+    private final ProblemDetailCache cache;
+    private final Map<String, InFlight> inFlight = new HashMap<>();
+
+    /**
+     * Receives the outcome of a load, on a background thread
+     */
+    public interface Listener {
+        void onLoaded(ProblemDetail detail);
+
+        /**
+         * @param error an IOException for network and HTTP failures, or a
+         *              {@link ProblemDetailParser.ParseException}
+         */
+        void onFailed(Exception error);
+    }
+
+    /**
+     * One caller's interest in a load
+     */
+    public final class Handle {
+        private final String titleSlug;
+        private final Listener listener;
+
+        private Handle(String titleSlug, Listener listener) {
+            this.titleSlug = titleSlug;
+            this.listener = listener;
+        }
+
+        /**
+         * Stop listening; the request itself is cancelled if nobody else is waiting on it
+         */
+        public void cancel() {
+            release(this);
+        }
+    }
+
+    private static final class InFlight {
+        final List<Handle> handles = new ArrayList<>();
+        ResilientCall.Cancellable call = ResilientCall.Cancellable.NONE;
+        boolean cancelled;
+    }
+
+    public static ProblemDetailLoader getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ProblemDetailLoader.class) {
+                if (instance == null) {
+                    instance = new ProblemDetailLoader(ProblemDetailCache.getInstance(context));
+                }
+            }
+        }
+        return instance;
+    }
+
+    private ProblemDetailLoader(ProblemDetailCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Fetch a problem for the detail screen, joining a request already running for it
+     */
+    public Handle load(String titleSlug, Listener listener) {
+        return load(titleSlug, DETAIL_POLICY, false, listener);
+    }
+
+    /**
+     * Fetch a problem ahead of time; a single attempt, and only while leetcode.com's
+     * circuit breaker is closed. Otherwise the listener fails right away.
+     */
+    public Handle prefetch(String titleSlug, Listener listener) {
+        return load(titleSlug, PREFETCH_POLICY, true, listener);
+    }
+
+    private Handle load(String titleSlug, RetryPolicy policy, boolean speculative, Listener listener) {
+        Handle handle = new Handle(titleSlug, listener);
+        InFlight started = new InFlight();
+        boolean skipped;
+        synchronized (inFlight) {
+            InFlight existing = inFlight.get(titleSlug);
+            if (existing != null) {
+                existing.handles.add(handle);
+                return handle;
+            }
+            skipped = speculative && !LeetCodeAPI.isLeetCodeAvailable();
+            if (!skipped) {
+                started.handles.add(handle);
+                inFlight.put(titleSlug, started);
+            }
+        }
+        if (skipped) {
+            listener.onFailed(new IOException("LeetCode is recovering, not prefetching " + titleSlug));
+            return handle;
+        }
+
+        ResilientCall.Cancellable call = LeetCodeAPI.execute(buildRequest(titleSlug), policy, new LeetCodeAPI.LeetCodeCallback() {
+            @Override
+            public void onSuccess(String responseBody) {
+                if (responseBody.isEmpty()) {
+                    finish(titleSlug, started, null, new IOException("Empty response from server"));
+                } else {
+                    try {
+                        ProblemDetail detail = ProblemDetailParser.parse(responseBody);
+                        cache.put(titleSlug, responseBody, detail);
+                        finish(titleSlug, started, detail, null);
+                    } catch (ProblemDetailParser.ParseException e) {
+                        finish(titleSlug, started, null, e);
+                    } catch (Exception e) {
+                        Log.e(TAG, "Parse error: " + e.getMessage(), e);
+                        finish(titleSlug, started, null, new ProblemDetailParser.ParseException(
+                                "Error parsing problem details: " + e.getMessage()));
+                    }
+                }
+            }
+
+            @Override
+            public void onError(Exception error) {
+                finish(titleSlug, started, null, error);
+            }
+        });
+        boolean cancelled;
+        synchronized (inFlight) {
+            started.call = call;
+            cancelled = started.cancelled;
+        }
+        if (cancelled) {
+            // Every caller gave up while the request was being started
+            call.cancel();
+        }
+        return handle;
+    }
+
+    private Request buildRequest(String titleSlug) {
+        JsonObject requestBody = new JsonObject();
+        requestBody.addProperty("query", ProblemDetailParser.buildQuery(titleSlug));
+
+        JsonObject variables = new JsonObject();
+        variables.addProperty("titleSlug", titleSlug);
+        requestBody.add("variables", variables);
+
+        RequestBody body = RequestBody.create(
+                requestBody.toString(),
+                MediaType.get("application/json; charset=utf-8")
+        );
+
+        return new Request.Builder()
+                .url(LEETCODE_GRAPHQL_URL)
+                .post(body)
+                .addHeader("Content-Type", "application/json")
+                .addHeader("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36")
+                .addHeader("Accept", "application/json")
+                .addHeader("Referer", "https://leetcode.com/")
+                .build();
+    }
+
+    private void finish(String titleSlug, InFlight done, ProblemDetail detail, Exception error) {
+        List<Handle> handles;
+        synchronized (inFlight) {
+            // A cancelled load may have been replaced by a new one for the same slug
+            if (!inFlight.remove(titleSlug, done)) {
+                return;
+            }
+            handles = new ArrayList<>(done.handles);
+        }
+        for (Handle handle : handles) {
+            if (detail != null) {
+                handle.listener.onLoaded(detail);
+            } else {
+                handle.listener.onFailed(error);
+            }
+        }
+    }
+
+    private void release(Handle handle) {
+        ResilientCall.Cancellable toCancel = null;
+        synchronized (inFlight) {
+            InFlight loading = inFlight.get(handle.titleSlug);
+            if (loading == null || !loading.handles.remove(handle)) {
+                return;
+            }
+            if (loading.handles.isEmpty()) {
+                inFlight.remove(handle.titleSlug);
+                loading.cancelled = true;
+                toCancel = loading.call;
+            }
+        }
+        if (toCancel != null) {
+            Log.d(TAG, "Cancelled load of " + handle.titleSlug);
+            toCancel.cancel();
+        }
+    }
+}
@@ -0,0 +1,546 @@
+package com.example.codestreak.problems;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ProblemDetailParser - Turns a {@code question(titleSlug:)} response into display sections
+ * Holds the HTML cleanup and section splitting that used to live in
+ * ProblemDetailActivity, so a detail can be parsed off the main thread and stored
+ * in parsed form by ProblemDetailCache.
+ *
+ * Bump {@link #VERSION} whenever the output of the parser changes; cached details
+ * parsed by an older version are re-parsed from their raw response.
+ */
+public final class ProblemDetailParser {
+    public static final int VERSION = 2;
+
+    /**
+     * The response has no usable question; the message is meant for the user
+     */
+    public static final class ParseException extends Exception {
+        public ParseException(String message) {
+            super(message);
+        }
+    }
+
+    // Helper class to hold parsed content sections
+    private static class ContentSections {
+        String description = "";
+        String examples = "";
+        String constraints = "";
+    }
+
+    private ProblemDetailParser() {}
+
+    /**
+     * GraphQL query for one problem's details
+     */
+    public static String buildQuery(String titleSlug) {
+        return "{\n" +
+                "  question(titleSlug: \"" + titleSlug + "\") {\n" +
+                "    questionId\n" +
+                "    title\n" +
+                "    content\n" +
+                "    difficulty\n" +
+                "    exampleTestcases\n" +
+                "    topicTags {\n" +
+                "      name\n" +
+                "    }\n" +
+                "    hints\n" +
+                "    stats\n" +
+                "    acRate\n" +
+                "    likes\n" +
+                "    dislikes\n" +
+                "  }\n" +
+                "}";
+    }
+
+    /**
+     * Parse a detail response
+     * @throws ParseException if the response carries errors or no question
+     */
+    public static ProblemDetail parse(String responseBody) throws ParseException {
+        JsonObject jsonResponse = JsonParser.parseString(responseBody).getAsJsonObject();
+
+        // Check for GraphQL errors
+        if (jsonResponse.has("errors")) {
+            JsonArray errors = jsonResponse.getAsJsonArray("errors");
+            String errorMessage = errors.size() > 0 ?
+                errors.get(0).getAsJsonObject().get("message").getAsString() :
+                "Unknown GraphQL error";
+            android.util.Log.e("ProblemDetail", "GraphQL Error: " + errorMessage);
+            throw new ParseException("API Error: " + errorMessage);
+        }
+
+        if (!jsonResponse.has("data") || jsonResponse.get("data").isJsonNull()) {
+            android.util.Log.e("ProblemDetail", "No data in response");
+            throw new ParseException("No data received from API");
+        }
+
+        JsonObject data = jsonResponse.getAsJsonObject("data");
+        if (!data.has("question") || data.get("question").isJsonNull()) {
+            throw new ParseException("Problem not found - this might be a generated problem not available in LeetCode");
+        }
+
+        JsonObject question = data.getAsJsonObject("question");
+        ProblemDetail detail = new ProblemDetail();
+
+        // Parse content (description with examples)
+        if (question.has("content") && !question.get("content").isJsonNull()) {
+            String content = question.get("content").getAsString();
+            String cleanContent = HtmlText.toMarkdown(content);
+
+            // Extract different sections from content
+            ContentSections sections = extractContentSections(cleanContent);
+            detail.description = sections.description;
+            detail.constraints = sections.constraints;
+
+            // Use extracted examples if available, otherwise fall back to exampleTestcases
+            if (!sections.examples.isEmpty()) {
+                detail.examples = formatContentExamples(sections.examples);
+            } else if (question.has("exampleTestcases") && !question.get("exampleTestcases").isJsonNull()) {
+                detail.examples = formatExamples(question.get("exampleTestcases").getAsString());
+            } else {
+                detail.examples = "Examples not available";
+            }
+        } else {
+            detail.description = "Problem description not available";
+            detail.constraints = "Constraints not available";
+            detail.examples = "Examples not available";
+        }
+
+        if (question.has("topicTags") && !question.get("topicTags").isJsonNull()) {
+            detail.topicTags = new ArrayList<>();
+            for (JsonElement topic : question.getAsJsonArray("topicTags")) {
+                detail.topicTags.add(topic.getAsJsonObject().get("name").getAsString());
+            }
+        }
+
+        if (question.has("hints") && !question.get("hints").isJsonNull()) {
+            detail.hints = new ArrayList<>();
+            for (JsonElement hint : question.getAsJsonArray("hints")) {
+                detail.hints.add(HtmlText.toMarkdown(hint.getAsString()));
+            }
+        }
+
+        // Acceptance rate, from acRate or else from the stats blob
+        if (question.has("acRate") && !question.get("acRate").isJsonNull()) {
+            detail.acceptanceText = String.format("%.1f%% Acceptance Rate", question.get("acRate").getAsDouble());
+        } else if (question.has("stats") && !question.get("stats").isJsonNull()) {
+            detail.acceptanceText = parseAcceptanceRate(question.get("stats").getAsString());
+        }
+        return detail;
+    }
+
+    private static String parseAcceptanceRate(String stats) {
+        try {
+            JsonObject statsJson = JsonParser.parseString(stats).getAsJsonObject();
+            if (statsJson.has("acRate")) {
+                return statsJson.get("acRate").getAsString() + " Acceptance Rate";
+            }
+        } catch (Exception e) {
+            // Keep the original acceptance rate if parsing fails
+        }
+        return null;
+    }
+
+    private static ContentSections extractContentSections(String content) {
+        ContentSections sections = new ContentSections();
+
+        // First, try to split content at the first example
+        String[] parts = content.split("(?i)(?=example\\s*\\d*\\s*:)", 2);
+
+        if (parts.length >= 2) {
+            // We found examples - part[0] is description, part[1] onwards are examples
+            sections.description = parts[0].trim();
+
+            // Extract examples and constraints from the remaining content
+            String remainingContent = parts[1];
+            String[] exampleConstraintSplit = remainingContent.split("(?i)(?=constraints?\\s*:)", 2);
+
+            sections.examples = exampleConstraintSplit[0].trim();
+            if (exampleConstraintSplit.length > 1) {
+                sections.constraints = exampleConstraintSplit[1].trim();
+            }
+        } else {
+            // No clear example section found, try alternative approach
+            String[] lines = content.split("\n");
+            StringBuilder currentSection = new StringBuilder();
+            String currentSectionType = "description";
+            boolean foundFirstExample = false;
+
+            for (String line : lines) {
+                String lowerLine = line.toLowerCase().trim();
+
+                // Check if this line starts a new section
+                if (!foundFirstExample && (lowerLine.matches(".*example\\s*\\d*\\s*:.*") || 
+                    (lowerLine.startsWith("example") && lowerLine.contains(":")))) {
+                    // First example found - save description and start examples
+                    sections.description = currentSection.toString().trim();
+                    currentSection = new StringBuilder();
+                    currentSectionType = "examples";
+                    foundFirstExample = true;
+                    currentSection.append(line).append("\n");
+                }
+                else if (foundFirstExample && (lowerLine.startsWith("input:") || lowerLine.startsWith("output:") || lowerLine.startsWith("explanation:"))) {
+                    // Continue with examples section
+                    currentSection.append(line).append("\n");
+                }
+                else if (lowerLine.startsWith("constraints:") || lowerLine.startsWith("constraint:")) {
+                    // Save previous section and start constraints
+                    if (currentSectionType.equals("description")) {
+                        sections.description = currentSection.toString().trim();
+                    } else if (currentSectionType.equals("examples")) {
+                        sections.examples = currentSection.toString().trim();
+                    }
+                    currentSection = new StringBuilder();
+                    currentSectionType = "constraints";
+                    currentSection.append(line).append("\n");
+                }
+                else if (lowerLine.startsWith("note:") || lowerLine.startsWith("follow") || lowerLine.startsWith("hint:")) {
+                    // Save previous section and add to constraints
+                    if (currentSectionType.equals("description")) {
+                        sections.description = currentSection.toString().trim();
+                    } else if (currentSectionType.equals("examples")) {
+                        sections.examples = currentSection.toString().trim();
+                    }
+                    currentSection = new StringBuilder();
+                    currentSectionType = "constraints";
+                    currentSection.append(line).append("\n");
+                }
+                else {
+                    // Continue with current section
+                    currentSection.append(line).append("\n");
+                }
+            }
+
+            // Save the last section
+            if (currentSectionType.equals("description") && sections.description.isEmpty()) {
+                sections.description = currentSection.toString().trim();
+            } else if (currentSectionType.equals("examples") && sections.examples.isEmpty()) {
+                sections.examples = currentSection.toString().trim();
+            } else if (currentSectionType.equals("constraints")) {
+                sections.constraints = currentSection.toString().trim();
+            }
+        }
+
+        // Clean up sections
+        sections.description = cleanDescriptionText(sections.description);
+        sections.examples = cleanExamplesText(sections.examples);
+        sections.constraints = cleanConstraintsText(sections.constraints);
+
+        // Safety check: if description is empty or too short, try to preserve original content
+        if (sections.description.isEmpty() || sections.description.length() < 50) {
+            android.util.Log.w("ProblemDetail", "Description too short, using fallback");
+            // Take the first meaningful part of the content as description
+            String[] contentLines = content.split("\n");
+            StringBuilder fallbackDescription = new StringBuilder();
+            int lineCount = 0;
+
+            for (String line : contentLines) {
+                String trimmedLine = line.trim();
+                if (!trimmedLine.isEmpty() && lineCount < 20) { // Take first 20 non-empty lines
+                    String lowerLine = trimmedLine.toLowerCase();
+                    // Skip obvious example/constraint headers
+                    if (!lowerLine.startsWith("example ") && 
+                        !lowerLine.equals("input:") && 
+                        !lowerLine.equals("output:") &&
+                        !lowerLine.startsWith("constraints:")) {
+                        fallbackDescription.append(trimmedLine).append("\n");
+                        lineCount++;
+                    }
+                }
+            }
+
+            if (fallbackDescription.length() > 0) {
+                sections.description = HtmlText.stripMarkdown(fallbackDescription.toString());
+            } else {
+                sections.description = "Problem description not available";
+            }
+        }
+
+        // If no examples were found in content, leave it empty to use exampleTestcases
+        if (sections.examples.isEmpty()) {
+            sections.examples = "";
+        }
+
+        // If no constraints found, provide default message
+        if (sections.constraints.isEmpty()) {
+            sections.constraints = "Constraints information not found in problem content";
+        }
+
+        return sections;
+    }
+
+    private static String cleanDescriptionText(String text) {
+        if (text.isEmpty()) return "Problem description not available";
+
+        // Remove any example sections that leaked into description
+        String[] lines = text.split("\n");
+        StringBuilder cleanedText = new StringBuilder();
+        boolean skipMode = false;
+
+        for (String line : lines) {
+            String lowerLine = line.toLowerCase().trim();
+
+            // Start skipping when we hit an example
+            if (lowerLine.matches(".*example\\s*\\d*\\s*:.*") || 
+                (lowerLine.startsWith("example") && lowerLine.contains(":"))) {
+                skipMode = true;
+                continue;
+            }
+
+            // Skip input/output/explanation lines that are part of examples
+            if (skipMode && (lowerLine.startsWith("input:") || lowerLine.startsWith("output:") || lowerLine.startsWith("explanation:"))) {
+                continue;
+            }
+
+            // If we're in skip mode and hit constraints, stop skipping but don't include constraints in description
+            if (skipMode && (lowerLine.startsWith("constraints:") || lowerLine.startsWith("constraint:"))) {
+                break;
+            }
+
+            // If we're not in skip mode, include the line
+            if (!skipMode) {
+                cleanedText.append(line).append("\n");
+            }
+        }
+
+        String result = cleanedText.toString().trim();
+
+        // If we removed too much and have very little content left, be more conservative
+        if (result.length() < 50 && text.length() > 100) {
+            // Try a more conservative approach - just remove clear example markers
+            result = text.replaceAll("(?i)example\\s+\\d+:", "")
+                        .replaceAll("(?i)^input:", "")
+                        .replaceAll("(?i)^output:", "")
+                        .replaceAll("(?i)^explanation:", "")
+                        .trim();
+        }
+
+        // Drop the markdown markers, the description is shown as plain text
+        return HtmlText.stripMarkdown(result);
+    }
+
+    private static String cleanExamplesText(String text) {
+        if (text.isEmpty()) return "";
+
+        // Drop markdown markers from examples
+        return HtmlText.stripMarkdown(text);
+    }
+
+    private static String cleanConstraintsText(String text) {
+        if (text.isEmpty()) return "Constraints information not available";
+
+        // Drop markdown markers from constraints
+        return HtmlText.stripMarkdown(text);
+    }
+
+    private static String formatExamples(String examples) {
+        // Decode HTML entities first, keeping the one-testcase-per-line layout
+        examples = HtmlText.normalize(examples);
+
+        // Check if this looks like the LeetCode exampleTestcases format (input data only)
+        if (!examples.contains("Example") && !examples.contains("Input:") && !examples.contains("Output:")) {
+            return formatExampleTestcases(examples);
+        }
+
+        // It already contains formatted examples
+        return examples;
+    }
+
+    private static String formatExampleTestcases(String testCasesData) {
+        // The exampleTestcases field usually contains just the input data separated by newlines
+        // We need to parse this and create proper example format
+        android.util.Log.d("ProblemDetail", "formatExampleTestcases input: " + testCasesData);
+
+        String[] lines = testCasesData.split("\\n");
+        StringBuilder formatted = new StringBuilder();
+
+        // Group the test case inputs - LeetCode usually provides inputs in groups
+        // For problems like "Two Sum", it might be: [2,7,11,15], 9, [3,2,4], 6
+
+        int exampleNumber = 1;
+        int i = 0;
+
+        while (i < lines.length && exampleNumber <= 5) { // Limit to 5 examples
+            String currentLine = lines[i].trim();
+
+            if (currentLine.isEmpty()) {
+                i++;
+                continue;
+            }
+
+            formatted.append("Example ").append(exampleNumber).append(":\n");
+
+            // Try to determine the input format based on the problem
+            String input = currentLine;
+
+            // Handle different input patterns
+            if (input.startsWith("[") && input.endsWith("]")) {
+                // Array input
+                formatted.append("Input: ").append(input);
+
+                // Check if next line is another parameter (like target value)
+                if (i + 1 < lines.length) {
+                    String nextLine = lines[i + 1].trim();
+                    if (!nextLine.isEmpty() && !nextLine.startsWith("[")) {
+                        // This looks like a second parameter
+                        formatted.append(", ").append(nextLine);
+                        i++; // Skip the next line as we've consumed it
+                    }
+                }
+            } else if (input.startsWith("\"") && input.endsWith("\"")) {
+                // String input
+                formatted.append("Input: ").append(input);
+            } else if (input.matches("\\d+")) {
+                // Numeric input
+                formatted.append("Input: ").append(input);
+            } else {
+                // Generic input
+                formatted.append("Input: ").append(input);
+            }
+
+            formatted.append("\n");
+            formatted.append("Output: [Expected output - see problem description]\n\n");
+
+            i++;
+            exampleNumber++;
+        }
+
+        // If we only found one example, try to parse it differently
+        if (exampleNumber == 2 && lines.length > 2) {
+            // Maybe the format is different - try parsing pairs of lines
+            formatted = new StringBuilder();
+            exampleNumber = 1;
+
+            for (int j = 0; j < Math.min(lines.length, 8); j += 2) {
+                if (j + 1 < lines.length && !lines[j].trim().isEmpty()) {
+                    formatted.append("Example ").append(exampleNumber).append(":\n");
+                    formatted.append("Input: ").append(lines[j].trim());
+
+                    if (!lines[j + 1].trim().isEmpty()) {
+                        formatted.append(", ").append(lines[j + 1].trim());
+                    }
+
+                    formatted.append("\n");
+                    formatted.append("Output: [Expected output - see problem description]\n\n");
+                    exampleNumber++;
+                }
+            }
+        }
+
+        String result = formatted.toString().trim();
+        android.util.Log.d("ProblemDetail", "formatExampleTestcases result: " + result);
+        return result.isEmpty() ? "No test cases found" : result;
+    }
+
+    private static String formatContentExamples(String contentExamples) {
+        // This handles examples extracted from the problem content itself
+        android.util.Log.d("ProblemDetail", "formatContentExamples input: " + contentExamples);
+
+        if (contentExamples == null || contentExamples.trim().isEmpty()) {
+            return "No examples found in content";
+        }
+
+        // Split by different example patterns
+        String[] sections = contentExamples.split("(?i)example\\s*\\d*\\s*:");
+        android.util.Log.d("ProblemDetail", "Split into " + sections.length + " sections");
+
+        StringBuilder formatted = new StringBuilder();
+        int exampleCount = 0;
+
+        for (int i = 0; i < sections.length; i++) {
+            String section = sections[i].trim();
+
+            // Skip empty sections
+            if (section.isEmpty()) continue;
+
+            // Check if this section contains input/output patterns
+            if (section.toLowerCase().contains("input:") || section.toLowerCase().contains("output:")) {
+                exampleCount++;
+                formatted.append("Example ").append(exampleCount).append(":\n");
+
+                // Parse input/output from the section
+                String[] lines = section.split("\n");
+
+                for (String line : lines) {
+                    line = line.trim();
+                    if (!line.isEmpty()) {
+                        String lowerLine = line.toLowerCase();
+                        if (lowerLine.startsWith("input:") || 
+                            lowerLine.startsWith("output:") ||
+                            lowerLine.startsWith("explanation:")) {
+                            formatted.append(line).append("\n");
+                        } else if (!lowerLine.startsWith("example") && !lowerLine.startsWith("constraint")) {
+                            // This might be a continuation of previous line or example data
+                            formatted.append(line).append("\n");
+                        }
+                    }
+                }
+
+                formatted.append("\n");
+            } else if (i > 0) {
+                // If we found a section after splitting by "Example" but it doesn't have input/output,
+                // it might still contain example data, so include it
+                exampleCount++;
+                formatted.append("Example ").append(exampleCount).append(":\n");
+                formatted.append(section).append("\n\n");
+            }
+        }
+
+        // If no proper examples found, try alternative parsing
+        if (exampleCount == 0) {
+            android.util.Log.d("ProblemDetail", "No examples found with standard parsing, trying alternative");
+
+            // Look for Input: and Output: patterns directly
+            String[] lines = contentExamples.split("\n");
+            StringBuilder currentExample = new StringBuilder();
+            boolean inExample = false;
+            exampleCount = 0;
+
+            for (String line : lines) {
+                String trimmedLine = line.trim();
+                String lowerLine = trimmedLine.toLowerCase();
+
+                if (lowerLine.startsWith("input:")) {
+                    if (inExample && currentExample.length() > 0) {
+                        // Save previous example
+                        exampleCount++;
+                        formatted.append("Example ").append(exampleCount).append(":\n");
+                        formatted.append(currentExample.toString()).append("\n");
+                        currentExample = new StringBuilder();
+                    }
+                    inExample = true;
+                    currentExample.append(trimmedLine).append("\n");
+                } else if (lowerLine.startsWith("output:") || lowerLine.startsWith("explanation:")) {
+                    if (inExample) {
+                        currentExample.append(trimmedLine).append("\n");
+                    }
+                } else if (inExample && !trimmedLine.isEmpty() && 
+                          !lowerLine.startsWith("constraint") && 
+                          !lowerLine.startsWith("note:")) {
+                    // Continuation line
+                    currentExample.append(trimmedLine).append("\n");
+                }
+            }
+
+            // Add the last example
+            if (inExample && currentExample.length() > 0) {
+                exampleCount++;
+                formatted.append("Example ").append(exampleCount).append(":\n");
+                formatted.append(currentExample.toString()).append("\n");
+            }
+        }
+
+        String result = formatted.toString().trim();
+        android.util.Log.d("ProblemDetail", "formatContentExamples result: " + result);
+        return result.isEmpty() ? "Examples parsing failed" : result;
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.codestreak.problems;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * ProblemDictionary - Process-wide dictionaries behind the compact problem model
+ * Every problem screen builds its problems through these, so what thousands of
+ * problems repeat is stored once: difficulties are byte codes, topic and company names
+ * are ids into one name pool, and each distinct list of names is interned as a
+ * {@link Names} that problems share (every catalog problem has the same companies).
+ * Titles and slugs go through a string pool, so the copies of a problem held by
+ * different screens share their strings, and a slug is only kept when it is not the
+ * one derived from the title.
+ *
+ * Entries are never removed; the pools only grow with distinct names and titles.
+ * Safe to use from any thread.
+ */
+public final class ProblemDictionary {
+    public static final byte EASY = 0;
+    public static final byte MEDIUM = 1;
+    public static final byte HARD = 2;
+    private static final String[] DIFFICULTIES = {"Easy", "Medium", "Hard"};
+
+    private static final Map<String, Integer> nameIds = new HashMap<>();
+    private static String[] names = new String[64];
+    private static int nameCount;
+    private static final Map<List<String>, Names> namesPool = new HashMap<>();
+    private static final Map<String, String> stringPool = new HashMap<>();
+
+    /**
+     * An interned, immutable list of topic or company names, with their ids in the
+     * name pool and their comma-separated label
+     */
+    public static final class Names extends AbstractList<String> implements RandomAccess {
+        public static final Names EMPTY = new Names(new String[0], new int[0]);
+
+        private final String[] values;
+        private final int[] ids;
+        private final String label;
+
+        private Names(String[] values, int[] ids) {
+            this.values = values;
+            this.ids = ids;
+            this.label = String.join(", ", values);
+        }
+
+        @Override
+        public String get(int index) {
+            return values[index];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        /**
+         * Id of the name at an index, see {@link ProblemDictionary#name(int)}
+         */
+        public int idAt(int index) {
+            return ids[index];
+        }
+
+        /**
+         * The names joined with ", ", e.g. for a company tag
+         */
+        public String label() {
+            return label;
+        }
+    }
+
+    private ProblemDictionary() {}
+
+    /**
+     * Code of a difficulty name; anything else counts as Medium
+     */
+    public static byte difficultyCode(String difficulty) {
+        if (difficulty != null) {
+            for (byte code = 0; code < DIFFICULTIES.length; code++) {
+                if (DIFFICULTIES[code].equalsIgnoreCase(difficulty)) {
+                    return code;
+                }
+            }
+        }
+        return MEDIUM;
+    }
+
+    public static String difficultyName(byte code) {
+        return DIFFICULTIES[code];
+    }
+
+    /**
+     * Intern a list of names, e.g. a problem's topics
+     */
+    public static synchronized Names names(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Names.EMPTY;
+        }
+        Names interned = namesPool.get(values);
+        if (interned == null) {
+            String[] copy = new String[values.size()];
+            int[] ids = new int[copy.length];
+            for (int i = 0; i < copy.length; i++) {
+                ids[i] = nameId(values.get(i));
+                copy[i] = names[ids[i]];
+            }
+            interned = new Names(copy, ids);
+            namesPool.put(Arrays.asList(copy), interned);
+        }
+        return interned;
+    }
+
+    /**
+     * Intern a comma-separated list of names, e.g. "Amazon, Google"
+     */
+    public static Names names(String label) {
+        if (label == null || label.trim().isEmpty()) {
+            return Names.EMPTY;
+        }
+        String[] parts = label.split(",");
+        int count = 0;
+        for (String part : parts) {
+            String name = part.trim();
+            if (!name.isEmpty()) {
+                parts[count++] = name;
+            }
+        }
+        return names(Arrays.asList(parts).subList(0, count));
+    }
+
+    /**
+     * The name with an id from {@link Names#idAt}
+     */
+    public static synchronized String name(int id) {
+        return names[id];
+    }
+
+    /**
+     * Number of distinct names; ids are below it
+     */
+    public static synchronized int nameCount() {
+        return nameCount;
+    }
+
+    /**
+     * The pooled copy of a string, e.g. a title; null stays null
+     */
+    public static synchronized String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = stringPool.putIfAbsent(value, value);
+        return pooled != null ? pooled : value;
+    }
+
+    /**
+     * The LeetCode slug of a title: lower case, punctuation dropped and words joined
+     * with hyphens, e.g. "Reverse Nodes in k-Group" to "reverse-nodes-in-k-group"
+     */
+    public static String slugOf(String title) {
+        if (title == null) {
+            return "";
+        }
+        StringBuilder slug = new StringBuilder(title.length());
+        boolean separator = false;
+        for (int i = 0; i < title.length(); i++) {
+            char c = Character.toLowerCase(title.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (separator && slug.length() > 0) {
+                    slug.append('-');
+                }
+                separator = false;
+                slug.append(c);
+            } else if (c == '-' || Character.isWhitespace(c)) {
+                separator = true;
+            }
+        }
+        return slug.toString();
+    }
+
+    // Callers hold the lock
+    private static int nameId(String name) {
+        Integer id = nameIds.get(name);
+        if (id == null) {
+            if (nameCount == names.length) {
+                names = Arrays.copyOf(names, nameCount * 2);
+            }
+            id = nameCount++;
+            names[id] = name;
+            nameIds.put(name, id);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.codestreak.problems;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ProblemMerge - Id-keyed upsert of real problems over a working list
+ * The source is indexed into a plain array keyed by problem id (LeetCode ids are
+ * small and dense), so merging is linear in the size of both lists instead of a
+ * search per entry.
+ */
+public final class ProblemMerge {
+    private ProblemMerge() {}
+
+    /**
+     * Replace every entry of target that has a counterpart with the same id in source.
+     * Entries that are already the same instance are left alone, so re-applying an
+     * unchanged source reports nothing.
+     * @return ascending positions in target that were replaced
+     */
+    public static int[] upsert(List<Problem> target, List<Problem> source) {
+        Problem[] byId = indexById(source);
+        int[] changed = new int[16];
+        int count = 0;
+
+        for (int i = 0; i < target.size(); i++) {
+            Problem current = target.get(i);
+            int id = current.getId();
+            if (id < 0 || id >= byId.length) {
+                continue;
+            }
+            Problem replacement = byId[id];
+            if (replacement == null || replacement == current) {
+                continue;
+            }
+
+            target.set(i, replacement);
+            if (count == changed.length) {
+                changed = Arrays.copyOf(changed, count * 2);
+            }
+            changed[count++] = i;
+        }
+        return Arrays.copyOf(changed, count);
+    }
+
+    /**
+     * Array lookup table from problem id to problem; later entries win on duplicate ids
+     */
+    public static Problem[] indexById(List<Problem> problems) {
+        int maxId = -1;
+        for (Problem problem : problems) {
+            maxId = Math.max(maxId, problem.getId());
+        }
+
+        Problem[] byId = new Problem[maxId + 1];
+        for (Problem problem : problems) {
+            if (problem.getId() >= 0) {
+                byId[problem.getId()] = problem;
+            }
+        }
+        return byId;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.codestreak.problems;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.BitSet;
+import java.util.Locale;
+
+/**
+ * ProblemOrder - Sort orders offered by the problem lists
+ * Lists keep one permutation of their ordinals per order, sorted once from primitive
+ * keys (titles through {@link CollationKey}s) instead of comparing problems on every
+ * filter change. Ties keep ordinal order, like the stable sorts they replace, so a
+ * filtered list in any order is the permutation walked over the filter's bitset.
+ */
+public enum ProblemOrder {
+    ID("Default"),
+    EASY_TO_HARD("Easy->Hard"),
+    HARD_TO_EASY("Hard->Easy"),
+    TITLE_ASC("A-Z"),
+    TITLE_DESC("Z-A"),
+    ACCEPTANCE_ASC("Acceptance Asc"),
+    ACCEPTANCE_DESC("Acceptance Desc");
+
+    /**
+     * Sort keys of the problem at an ordinal
+     */
+    public interface Keys {
+        int id(int ordinal);
+
+        /**
+         * Difficulty as ranked by {@link #difficultyRank(String)}
+         */
+        int difficultyRank(int ordinal);
+
+        CollationKey titleKey(int ordinal);
+
+        double acceptanceRate(int ordinal);
+    }
+
+    private final String label;
+
+    ProblemOrder(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Name used for the order in the sort dialogs
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Order with the given sort dialog name, {@link #ID} for anything else
+     */
+    public static ProblemOrder fromLabel(String label) {
+        for (ProblemOrder order : values()) {
+            if (order.label.equals(label)) {
+                return order;
+            }
+        }
+        return ID;
+    }
+
+    /**
+     * Rank used by the difficulty orders; unknown difficulties come first
+     */
+    public static int difficultyRank(String difficulty) {
+        if ("Easy".equals(difficulty)) return 1;
+        if ("Medium".equals(difficulty)) return 2;
+        if ("Hard".equals(difficulty)) return 3;
+        return 0;
+    }
+
+    /**
+     * Collator for title keys: case-insensitive, like the compareToIgnoreCase it
+     * replaces. Collators are not thread-safe, so each owner creates its own.
+     */
+    public static Collator newTitleCollator() {
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.SECONDARY);
+        return collator;
+    }
+
+    /**
+     * Compare two ordinals; ties are broken by ordinal so the order is total
+     */
+    public int compare(Keys keys, int a, int b) {
+        int result;
+        switch (this) {
+            case EASY_TO_HARD:
+                result = Integer.compare(keys.difficultyRank(a), keys.difficultyRank(b));
+                break;
+            case HARD_TO_EASY:
+                result = Integer.compare(keys.difficultyRank(b), keys.difficultyRank(a));
+                break;
+            case TITLE_ASC:
+                result = keys.titleKey(a).compareTo(keys.titleKey(b));
+                break;
+            case TITLE_DESC:
+                result = keys.titleKey(b).compareTo(keys.titleKey(a));
+                break;
+            case ACCEPTANCE_ASC:
+                result = Double.compare(keys.acceptanceRate(a), keys.acceptanceRate(b));
+                break;
+            case ACCEPTANCE_DESC:
+                result = Double.compare(keys.acceptanceRate(b), keys.acceptanceRate(a));
+                break;
+            default:
+                result = Integer.compare(keys.id(a), keys.id(b));
+                break;
+        }
+        return result != 0 ? result : Integer.compare(a, b);
+    }
+
+    /**
+     * Ordinals 0 to count - 1 in this order
+     */
+    public int[] sort(Keys keys, int count) {
+        int[] permutation = new int[count];
+        for (int i = 0; i < count; i++) {
+            permutation[i] = i;
+        }
+        sort(keys, permutation);
+        return permutation;
+    }
+
+    /**
+     * Add ordinals to a permutation in this order: the new ones are sorted, then
+     * merged with the existing ones in a single pass
+     */
+    public int[] merge(Keys keys, int[] permutation, int[] added) {
+        int[] sortedAdded = added.clone();
+        sort(keys, sortedAdded);
+
+        int[] merged = new int[permutation.length + sortedAdded.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < permutation.length && j < sortedAdded.length) {
+            merged[k++] = compare(keys, permutation[i], sortedAdded[j]) <= 0 ? permutation[i++] : sortedAdded[j++];
+        }
+        while (i < permutation.length) {
+            merged[k++] = permutation[i++];
+        }
+        while (j < sortedAdded.length) {
+            merged[k++] = sortedAdded[j++];
+        }
+        return merged;
+    }
+
+    /**
+     * The ordinals of a permutation that are set in a selection, in permutation order
+     */
+    public static int[] select(int[] permutation, BitSet selection) {
+        int[] selected = new int[selection.cardinality()];
+        int count = 0;
+        for (int ordinal : permutation) {
+            if (count == selected.length) {
+                break;
+            }
+            if (selection.get(ordinal)) {
+                selected[count++] = ordinal;
+            }
+        }
+        return selected;
+    }
+
+    private void sort(Keys keys, int[] ordinals) {
+        if (ordinals.length > 1) {
+            mergeSort(keys, ordinals, new int[ordinals.length], 0, ordinals.length);
+        }
+    }
+
+    private void mergeSort(Keys keys, int[] values, int[] scratch, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(keys, values, scratch, from, middle);
+        mergeSort(keys, values, scratch, middle, to);
+        if (compare(keys, values[middle - 1], values[middle]) <= 0) {
+            // Already in order
+            return;
+        }
+        System.arraycopy(values, from, scratch, from, to - from);
+        int i = from;
+        int j = middle;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < middle && compare(keys, scratch[i], scratch[j]) <= 0)) {
+                values[k] = scratch[i++];
+            } else {
+                values[k] = scratch[j++];
+            }
+        }
+    }
+}
@@ -0,0 +1,457 @@
+package com.example.codestreak.problems;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ProblemSearchIndex - In-memory search index over the problem list
+ * Problems are addressed by ordinal (their position in the backing list). Titles are
+ * indexed by trigram, topics and difficulties by bitset and ids by a direct lookup
+ * table, so a filter intersects posting lists instead of scanning every problem.
+ * For every {@link ProblemOrder} the index keeps a permutation of the ordinals, built
+ * when the order is first used, merged with appended problems and rebuilt after
+ * replacements, so a sorted result is the permutation walked over the filter bitset.
+ */
+public final class ProblemSearchIndex {
+    // Difficulty bitsets are indexed by the ProblemDictionary codes
+    private static final int DIFFICULTY_EASY = ProblemDictionary.EASY;
+    private static final int DIFFICULTY_MEDIUM = ProblemDictionary.MEDIUM;
+    private static final int DIFFICULTY_HARD = ProblemDictionary.HARD;
+
+    private final List<Problem> problems = new ArrayList<>();
+    private final List<String> lowerTitles = new ArrayList<>();
+    private final List<String> idStrings = new ArrayList<>();
+    private final Map<Long, IntList> trigramPostings = new HashMap<>();
+    private final Map<String, BitSet> topicBits = new HashMap<>();
+    private final BitSet[] difficultyBits = {new BitSet(), new BitSet(), new BitSet()};
+    private int[] idToOrdinal = new int[0];
+    private final Collator titleCollator = ProblemOrder.newTitleCollator();
+    // Computed when a title order needs them
+    private final List<CollationKey> titleKeys = new ArrayList<>();
+    // By ProblemOrder ordinal, null until used or after a replacement
+    private final int[][] permutations = new int[ProblemOrder.values().length][];
+
+    private final ProblemOrder.Keys sortKeys = new ProblemOrder.Keys() {
+        @Override
+        public int id(int ordinal) {
+            return problems.get(ordinal).getId();
+        }
+
+        @Override
+        public int difficultyRank(int ordinal) {
+            return ProblemOrder.difficultyRank(problems.get(ordinal).getDifficulty());
+        }
+
+        @Override
+        public CollationKey titleKey(int ordinal) {
+            CollationKey key = titleKeys.get(ordinal);
+            if (key == null) {
+                key = titleCollator.getCollationKey(problems.get(ordinal).getTitle());
+                titleKeys.set(ordinal, key);
+            }
+            return key;
+        }
+
+        @Override
+        public double acceptanceRate(int ordinal) {
+            return problems.get(ordinal).getAcceptanceRate();
+        }
+    };
+
+    /**
+     * A compiled filter. Build once per filter change and reuse it for every lookup.
+     */
+    public static final class Query {
+        final String text;
+        final boolean numeric;
+        final long[] trigrams;
+        final Collection<String> topics;
+        final Collection<String> difficulties;
+
+        public Query(String searchText, Collection<String> topics, Collection<String> difficulties) {
+            this.text = searchText == null ? "" : searchText.toLowerCase(Locale.ROOT);
+            this.numeric = !text.isEmpty() && isDigits(text);
+            this.trigrams = trigramsOf(text);
+            this.topics = topics;
+            this.difficulties = difficulties;
+        }
+
+        public boolean isEmpty() {
+            return text.isEmpty() && topics.isEmpty() && difficulties.isEmpty();
+        }
+    }
+
+    public int size() {
+        return problems.size();
+    }
+
+    public Problem get(int ordinal) {
+        return problems.get(ordinal);
+    }
+
+    /**
+     * Append problems; their ordinals continue after the existing ones
+     */
+    public void addAll(List<Problem> newProblems) {
+        int[] added = new int[newProblems.size()];
+        for (int i = 0; i < added.length; i++) {
+            int ordinal = problems.size();
+            Problem problem = newProblems.get(i);
+            problems.add(problem);
+            lowerTitles.add(null);
+            idStrings.add(null);
+            titleKeys.add(null);
+            indexProblem(ordinal, problem);
+            added[i] = ordinal;
+        }
+
+        ProblemOrder[] orders = ProblemOrder.values();
+        for (int i = 0; i < orders.length; i++) {
+            if (permutations[i] != null) {
+                permutations[i] = orders[i].merge(sortKeys, permutations[i], added);
+            }
+        }
+    }
+
+    /**
+     * Replace the problem at an ordinal, e.g. when real data arrives for a placeholder
+     */
+    public void replace(int ordinal, Problem problem) {
+        Problem old = problems.get(ordinal);
+        problems.set(ordinal, problem);
+        titleKeys.set(ordinal, null);
+        // Replacements come in batches, so rebuild on next use instead of moving entries
+        Arrays.fill(permutations, null);
+
+        // Trigram postings of the old title are left in place: candidates are always
+        // verified against the current title, so stale postings only cost a compare
+        for (String topic : old.getTopics()) {
+            BitSet bits = topicBits.get(topic);
+            if (bits != null) {
+                bits.clear(ordinal);
+            }
+        }
+        difficultyBits[old.getDifficultyCode()].clear(ordinal);
+        if (old.getId() < idToOrdinal.length && idToOrdinal[old.getId()] == ordinal) {
+            idToOrdinal[old.getId()] = -1;
+        }
+
+        indexProblem(ordinal, problem);
+    }
+
+    public void clear() {
+        problems.clear();
+        lowerTitles.clear();
+        idStrings.clear();
+        titleKeys.clear();
+        Arrays.fill(permutations, null);
+        trigramPostings.clear();
+        topicBits.clear();
+        for (BitSet bits : difficultyBits) {
+            bits.clear();
+        }
+        idToOrdinal = new int[0];
+    }
+
+    /**
+     * Ordinal of the problem with the given LeetCode id, or -1
+     */
+    public int ordinalOfId(int problemId) {
+        return problemId >= 0 && problemId < idToOrdinal.length ? idToOrdinal[problemId] : -1;
+    }
+
+    /**
+     * All problems matching the query, in ordinal order
+     */
+    public List<Problem> filter(Query query) {
+        BitSet matches = evaluate(query);
+        List<Problem> result = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            result.add(problems.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * All problems matching the query, in the given order
+     */
+    public List<Problem> filter(Query query, ProblemOrder order) {
+        int[] ordinals = select(query, order);
+        List<Problem> result = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            result.add(problems.get(ordinal));
+        }
+        return result;
+    }
+
+    /**
+     * Ordinals of the problems matching the query, in the given order. The array may be
+     * shared with the index; do not modify it.
+     */
+    public int[] select(Query query, ProblemOrder order) {
+        int[] permutation = permutation(order);
+        return query.isEmpty() ? permutation : ProblemOrder.select(permutation, evaluate(query));
+    }
+
+    /**
+     * All ordinals in the given order. The array belongs to the index; do not modify it.
+     */
+    public int[] permutation(ProblemOrder order) {
+        int[] permutation = permutations[order.ordinal()];
+        if (permutation == null) {
+            permutation = order.sort(sortKeys, problems.size());
+            permutations[order.ordinal()] = permutation;
+        }
+        return permutation;
+    }
+
+    /**
+     * Whether two problems have the same sort key under an order, i.e. replacing one
+     * with the other cannot move it
+     */
+    public boolean sameSortKey(ProblemOrder order, Problem a, Problem b) {
+        switch (order) {
+            case EASY_TO_HARD:
+            case HARD_TO_EASY:
+                return ProblemOrder.difficultyRank(a.getDifficulty()) == ProblemOrder.difficultyRank(b.getDifficulty());
+            case TITLE_ASC:
+            case TITLE_DESC:
+                return titleCollator.compare(a.getTitle(), b.getTitle()) == 0;
+            case ACCEPTANCE_ASC:
+            case ACCEPTANCE_DESC:
+                return Double.compare(a.getAcceptanceRate(), b.getAcceptanceRate()) == 0;
+            default:
+                return a.getId() == b.getId();
+        }
+    }
+
+    /**
+     * Bitset of ordinals matching the query
+     */
+    public BitSet evaluate(Query query) {
+        int n = problems.size();
+        BitSet result = new BitSet(n);
+        result.set(0, n);
+
+        if (!query.difficulties.isEmpty()) {
+            BitSet union = new BitSet(n);
+            for (String difficulty : query.difficulties) {
+                int index = difficultyIndex(difficulty);
+                if (index >= 0) {
+                    union.or(difficultyBits[index]);
+                }
+            }
+            result.and(union);
+        }
+
+        if (!query.topics.isEmpty()) {
+            BitSet union = new BitSet(n);
+            for (String topic : query.topics) {
+                BitSet bits = topicBits.get(topic);
+                if (bits != null) {
+                    union.or(bits);
+                }
+            }
+            result.and(union);
+        }
+
+        if (!query.text.isEmpty() && !result.isEmpty()) {
+            result.and(textMatches(query, result));
+        }
+        return result;
+    }
+
+    /**
+     * Check a single ordinal against the query without evaluating the whole index
+     */
+    public boolean matches(Query query, int ordinal) {
+        Problem problem = problems.get(ordinal);
+        if (!query.difficulties.isEmpty() && !query.difficulties.contains(problem.getDifficulty())) {
+            return false;
+        }
+        if (!query.topics.isEmpty()) {
+            boolean anyTopic = false;
+            for (String topic : problem.getTopics()) {
+                if (query.topics.contains(topic)) {
+                    anyTopic = true;
+                    break;
+                }
+            }
+            if (!anyTopic) {
+                return false;
+            }
+        }
+        return query.text.isEmpty() || matchesText(query, ordinal);
+    }
+
+    private BitSet textMatches(Query query, BitSet candidates) {
+        BitSet matches = new BitSet(problems.size());
+
+        if (query.trigrams.length > 0) {
+            // Intersect posting lists, starting from the rarest trigram
+            IntList[] lists = new IntList[query.trigrams.length];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = trigramPostings.get(query.trigrams[i]);
+                if (lists[i] == null) {
+                    lists = null;
+                    break;
+                }
+            }
+            if (lists != null) {
+                Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+                IntList shortest = lists[0];
+                for (int i = 0; i < shortest.size; i++) {
+                    int ordinal = shortest.values[i];
+                    if (!candidates.get(ordinal) || matches.get(ordinal)) {
+                        continue;
+                    }
+                    boolean inAll = true;
+                    for (int l = 1; l < lists.length && inAll; l++) {
+                        inAll = lists[l].contains(ordinal);
+                    }
+                    if (inAll && lowerTitles.get(ordinal).contains(query.text)) {
+                        matches.set(ordinal);
+                    }
+                }
+            }
+        } else {
+            // One or two characters: a scan over the pre-lowercased titles is cheap
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                if (lowerTitles.get(i).contains(query.text)) {
+                    matches.set(i);
+                }
+            }
+        }
+
+        if (query.numeric) {
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                if (idStrings.get(i).contains(query.text)) {
+                    matches.set(i);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private boolean matchesText(Query query, int ordinal) {
+        return lowerTitles.get(ordinal).contains(query.text)
+                || (query.numeric && idStrings.get(ordinal).contains(query.text));
+    }
+
+    private void indexProblem(int ordinal, Problem problem) {
+        String lowerTitle = problem.getTitle().toLowerCase(Locale.ROOT);
+        lowerTitles.set(ordinal, lowerTitle);
+        idStrings.set(ordinal, String.valueOf(problem.getId()));
+
+        for (long trigram : trigramsOf(lowerTitle)) {
+            IntList postings = trigramPostings.get(trigram);
+            if (postings == null) {
+                postings = new IntList();
+                trigramPostings.put(trigram, postings);
+            }
+            postings.insertSorted(ordinal);
+        }
+
+        for (String topic : problem.getTopics()) {
+            BitSet bits = topicBits.get(topic);
+            if (bits == null) {
+                bits = new BitSet();
+                topicBits.put(topic, bits);
+            }
+            bits.set(ordinal);
+        }
+
+        difficultyBits[problem.getDifficultyCode()].set(ordinal);
+
+        int id = problem.getId();
+        if (id >= 0) {
+            if (id >= idToOrdinal.length) {
+                int oldLength = idToOrdinal.length;
+                idToOrdinal = Arrays.copyOf(idToOrdinal, Math.max(id + 1, oldLength * 2));
+                Arrays.fill(idToOrdinal, oldLength, idToOrdinal.length, -1);
+            }
+            idToOrdinal[id] = ordinal;
+        }
+    }
+
+    private static int difficultyIndex(String difficulty) {
+        if ("Easy".equals(difficulty)) return DIFFICULTY_EASY;
+        if ("Medium".equals(difficulty)) return DIFFICULTY_MEDIUM;
+        if ("Hard".equals(difficulty)) return DIFFICULTY_HARD;
+        return -1;
+    }
+
+    /**
+     * Distinct trigrams of a lowercased string, packed three chars per long
+     */
+    private static long[] trigramsOf(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] trigrams = new long[text.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(trigrams);
+        int unique = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[unique++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, unique);
+    }
+
+    private static boolean isDigits(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Growable sorted int array used for posting lists
+     */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void insertSorted(int value) {
+            // Ordinals are almost always appended in increasing order
+            if (size == 0 || values[size - 1] < value) {
+                ensureCapacity();
+                values[size++] = value;
+                return;
+            }
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            ensureCapacity();
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        private void ensureCapacity() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+        }
+    }
+}
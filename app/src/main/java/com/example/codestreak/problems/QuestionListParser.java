@@ -0,0 +1,199 @@
+package com.example.codestreak.problems;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * QuestionListParser - Streaming parser for LeetCode question list responses
+ * Reads the GraphQL response token by token and hands each free problem to a sink as
+ * soon as its record is complete, so memory use is bounded by one question rather than
+ * the whole payload (no response string, no JSON tree).
+ */
+public final class QuestionListParser {
+    // Real company tags are not part of the question list
+    private static final String DEFAULT_COMPANIES = "Amazon, Google, Microsoft";
+
+    /**
+     * Receives parsed problems in response order
+     */
+    public interface ProblemSink {
+        void accept(Problem problem);
+    }
+
+    private QuestionListParser() {}
+
+    /**
+     * Parse a {@code data.allQuestions} response. Questions without a numeric
+     * questionId get a running fallback id, as before.
+     * @return number of questions in the response including paid-only ones,
+     *         or -1 if the response has no question list
+     */
+    public static int parseAllQuestions(Reader source, ProblemSink sink) throws IOException {
+        try (JsonReader reader = new JsonReader(source)) {
+            if (!moveTo(reader, "data") || !moveTo(reader, "allQuestions")) {
+                return -1;
+            }
+            return readQuestions(reader, "questionId", "isPaidOnly", true, sink);
+        }
+    }
+
+    /**
+     * Size information of one problemset page
+     */
+    public static final class PageInfo {
+        // Questions in the page including paid-only ones
+        public final int questionCount;
+        // Size of the whole remote list, or -1 if the query did not ask for it
+        public final int total;
+
+        PageInfo(int questionCount, int total) {
+            this.questionCount = questionCount;
+            this.total = total;
+        }
+    }
+
+    /**
+     * Parse a {@code data.problems} (problemsetQuestionList) page with its
+     * {@code questions} and optional {@code total}
+     * @return page sizes, or null if the response has no question list
+     */
+    public static PageInfo parseProblemset(Reader source, ProblemSink sink) throws IOException {
+        try (JsonReader reader = new JsonReader(source)) {
+            if (!moveTo(reader, "data") || !moveTo(reader, "problems") || reader.peek() != JsonToken.BEGIN_OBJECT) {
+                return null;
+            }
+
+            int questionCount = -1;
+            int total = -1;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals("questions") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    questionCount = readQuestions(reader, "frontendQuestionId", "paidOnly", false, sink);
+                } else if (name.equals("total") && reader.peek() == JsonToken.NUMBER) {
+                    total = reader.nextInt();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            return questionCount < 0 ? null : new PageInfo(questionCount, total);
+        }
+    }
+
+    /**
+     * Enter the current object and advance to the value of the named field
+     * @return false if the field is missing or null
+     */
+    private static boolean moveTo(JsonReader reader, String name) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            return false;
+        }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals(name)) {
+                if (reader.peek() == JsonToken.NULL) {
+                    return false;
+                }
+                return true;
+            }
+            reader.skipValue();
+        }
+        return false;
+    }
+
+    private static int readQuestions(JsonReader reader, String idField, String paidField,
+                                     boolean fallbackIds, ProblemSink sink) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            return -1;
+        }
+
+        int count = 0;
+        int fallbackId = 1; // For problems that don't have proper IDs
+        reader.beginArray();
+        while (reader.hasNext()) {
+            count++;
+
+            int id = -1;
+            String title = null;
+            String titleSlug = null;
+            String difficulty = null;
+            double acRate = 0;
+            boolean paidOnly = false;
+            List<String> topics = new ArrayList<>();
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                if (name.equals(idField)) {
+                    id = parseId(reader.nextString());
+                } else if (name.equals(paidField)) {
+                    paidOnly = reader.nextBoolean();
+                } else if (name.equals("title")) {
+                    title = reader.nextString();
+                } else if (name.equals("titleSlug")) {
+                    titleSlug = reader.nextString();
+                } else if (name.equals("difficulty")) {
+                    difficulty = reader.nextString();
+                } else if (name.equals("acRate")) {
+                    acRate = reader.nextDouble();
+                } else if (name.equals("topicTags")) {
+                    readTopicNames(reader, topics);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            // Skip paid-only problems
+            if (paidOnly) {
+                continue;
+            }
+            if (fallbackIds) {
+                int nextFallback = fallbackId++;
+                if (id < 0) {
+                    id = nextFallback;
+                }
+            }
+            if (id < 0 || title == null || titleSlug == null || difficulty == null) {
+                continue;
+            }
+
+            sink.accept(new Problem(id, title, titleSlug, difficulty, acRate, DEFAULT_COMPANIES, topics));
+        }
+        reader.endArray();
+        return count;
+    }
+
+    private static void readTopicNames(JsonReader reader, List<String> topics) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("name") && reader.peek() == JsonToken.STRING) {
+                    topics.add(reader.nextString());
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endArray();
+    }
+
+    private static int parseId(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package com.example.codestreak.problems;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RevisionStore - Problems starred for revision
+ * Kept in memory as an id-keyed map in starring order, so the revision list is a single
+ * read, plus an immutable bitset of the starred ids that list rows check while binding
+ * without locking or allocating. The store is persisted as one compact binary file: a
+ * change updates memory right away and schedules a write shortly after, so a burst of
+ * toggles is written once. Listeners hear about every change on the main thread, so
+ * adapters can rebind just the affected row.
+ *
+ * Stars used to be saved as several starred_*_&lt;id&gt; SharedPreferences keys plus a
+ * comma-joined id list; those are imported into the store once and then removed.
+ * Nothing is read until the store is first used, so it can be warmed off the main thread
+ * with {@link #starredIds()}.
+ */
+public final class RevisionStore {
+    private static final String TAG = "RevisionStore";
+    private static final String FILE_NAME = "revision_store.bin";
+    static final int FILE_MAGIC = 0x52565354; // "RVST"
+    static final int FORMAT_VERSION = 1;
+    // Toggles within this delay are written together
+    private static final long WRITE_DELAY_MS = 300;
+
+    private static final String PREFS_NAME = "CodeStreakPrefs";
+    static final String LEGACY_LIST_KEY = "starred_problems_list";
+    static final String LEGACY_KEY_PREFIX = "starred_";
+
+    /**
+     * Called on the main thread after a problem was starred or unstarred
+     */
+    public interface Listener {
+        void onStarredChanged(int problemId, boolean starred);
+    }
+
+    /**
+     * Ids starred at one point in time; a new snapshot is published on every change
+     */
+    public static final class StarredIds {
+        private final BitSet ids;
+
+        StarredIds(BitSet ids) {
+            this.ids = ids;
+        }
+
+        public boolean contains(int problemId) {
+            return problemId >= 0 && ids.get(problemId);
+        }
+
+        public int size() {
+            return ids.cardinality();
+        }
+    }
+
+    private static volatile RevisionStore instance;
+
+    private final File file;
+    private final Executor writeExecutor;
+    private final Executor listenerExecutor;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<Integer, Problem> problems = new LinkedHashMap<>();
+    // Preferences that may still hold stars of older versions, until they are imported
+    private SharedPreferences legacyPrefs;
+    private volatile StarredIds starredIds;
+    private boolean loaded;
+    private boolean writePending;
+
+    public static RevisionStore getInstance(Context context) {
+        if (instance == null) {
+            synchronized (RevisionStore.class) {
+                if (instance == null) {
+                    instance = create(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static RevisionStore create(Context context) {
+        ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor();
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        RevisionStore store = new RevisionStore(new File(context.getFilesDir(), FILE_NAME),
+                work -> writer.schedule(work, WRITE_DELAY_MS, TimeUnit.MILLISECONDS), mainHandler::post);
+        store.legacyPrefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        return store;
+    }
+
+    RevisionStore(File file, Executor writeExecutor, Executor listenerExecutor) {
+        this.file = file;
+        this.writeExecutor = writeExecutor;
+        this.listenerExecutor = listenerExecutor;
+    }
+
+    /**
+     * The currently starred ids. Once loaded this is a volatile read; the first call
+     * reads the file, which is small.
+     */
+    public StarredIds starredIds() {
+        StarredIds ids = starredIds;
+        if (ids == null) {
+            synchronized (this) {
+                ensureLoaded();
+                ids = starredIds;
+            }
+        }
+        return ids;
+    }
+
+    public boolean isStarred(int problemId) {
+        return starredIds().contains(problemId);
+    }
+
+    /**
+     * Starred problems in the order they were starred; the list is a snapshot
+     */
+    public synchronized List<Problem> getProblems() {
+        ensureLoaded();
+        return Collections.unmodifiableList(new ArrayList<>(problems.values()));
+    }
+
+    public synchronized int size() {
+        ensureLoaded();
+        return problems.size();
+    }
+
+    /**
+     * Star or unstar a problem. Starring an already starred problem refreshes its record.
+     * @return whether the starred state changed
+     */
+    public boolean setStarred(Problem problem, boolean starred) {
+        int problemId = problem.getId();
+        synchronized (this) {
+            ensureLoaded();
+            boolean changed;
+            if (starred) {
+                changed = problems.put(problemId, problem) == null;
+            } else {
+                changed = problems.remove(problemId) != null;
+            }
+            if (!changed && !starred) {
+                return false;
+            }
+            scheduleWrite();
+            if (!changed) {
+                return false;
+            }
+            if (problemId >= 0) {
+                BitSet ids = (BitSet) starredIds.ids.clone();
+                ids.set(problemId, starred);
+                starredIds = new StarredIds(ids);
+            }
+        }
+
+        for (Listener listener : listeners) {
+            listenerExecutor.execute(() -> listener.onStarredChanged(problemId, starred));
+        }
+        return true;
+    }
+
+    /**
+     * Flip the starred state of a problem
+     * @return the new state
+     */
+    public boolean toggle(Problem problem) {
+        boolean starred = !isStarred(problem.getId());
+        setStarred(problem, starred);
+        return starred;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Import stars saved by older versions under per-field preference keys. Ids are
+     * taken from both the id list and the starred_&lt;id&gt; flags, since the list could
+     * miss ids that were a substring of another one.
+     * @param values every preference value
+     * @return the legacy keys, to be removed by the caller once this returns
+     */
+    synchronized Set<String> importLegacy(Map<String, ?> values) {
+        Set<String> legacyKeys = new HashSet<>();
+        Set<Integer> flagged = new TreeSet<>();
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(LEGACY_KEY_PREFIX)) {
+                continue;
+            }
+            legacyKeys.add(key);
+            Integer flagId = parseId(key.substring(LEGACY_KEY_PREFIX.length()));
+            if (flagId != null && Boolean.TRUE.equals(entry.getValue())) {
+                flagged.add(flagId);
+            }
+        }
+        if (legacyKeys.isEmpty()) {
+            return legacyKeys;
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        Object list = values.get(LEGACY_LIST_KEY);
+        if (list instanceof String) {
+            for (String part : ((String) list).split(",")) {
+                Integer id = parseId(part.trim());
+                if (id != null && !ids.contains(id)) {
+                    ids.add(id);
+                }
+            }
+        }
+        for (Integer id : flagged) {
+            if (!ids.contains(id)) {
+                ids.add(id);
+            }
+        }
+
+        ensureLoaded();
+        for (int id : ids) {
+            if (!problems.containsKey(id)) {
+                problems.put(id, legacyProblem(values, id));
+            }
+        }
+        publishStarredIds();
+        // Written before the caller removes the keys, so nothing is lost in between
+        save(new ArrayList<>(problems.values()));
+        Log.d(TAG, "Imported " + ids.size() + " starred problems from preferences");
+        return legacyKeys;
+    }
+
+    private static Problem legacyProblem(Map<String, ?> values, int id) {
+        String title = legacyString(values, "starred_title_" + id, "Unknown Problem");
+        String difficulty = legacyString(values, "starred_difficulty_" + id, "Medium");
+        Object acceptance = values.get("starred_acceptance_" + id);
+        double acceptanceRate = acceptance instanceof Float ? (Float) acceptance : 0.0;
+        String titleSlug = legacyString(values, "starred_slug_" + id, "");
+        String companies = legacyString(values, "starred_companies_" + id, "");
+
+        List<String> topics = new ArrayList<>();
+        String topicsValue = legacyString(values, "starred_topics_" + id, "");
+        if (!topicsValue.isEmpty()) {
+            for (String topic : topicsValue.split(",")) {
+                topics.add(topic.trim());
+            }
+        }
+        return new Problem(id, title, titleSlug, difficulty, acceptanceRate, companies, topics);
+    }
+
+    private static String legacyString(Map<String, ?> values, String key, String fallback) {
+        Object value = values.get(key);
+        return value instanceof String ? (String) value : fallback;
+    }
+
+    private static Integer parseId(String value) {
+        if (value.isEmpty() || value.length() > 9) {
+            return null;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return null;
+            }
+        }
+        return Integer.parseInt(value);
+    }
+
+    // Callers hold the lock
+    private void scheduleWrite() {
+        if (writePending) {
+            return;
+        }
+        writePending = true;
+        writeExecutor.execute(() -> {
+            List<Problem> snapshot;
+            synchronized (this) {
+                writePending = false;
+                snapshot = new ArrayList<>(problems.values());
+            }
+            save(snapshot);
+        });
+    }
+
+    // Callers hold the lock
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (file.exists()) {
+            readFile();
+        }
+
+        if (legacyPrefs != null) {
+            SharedPreferences prefs = legacyPrefs;
+            legacyPrefs = null;
+            Set<String> legacyKeys = importLegacy(prefs.getAll());
+            if (!legacyKeys.isEmpty()) {
+                SharedPreferences.Editor editor = prefs.edit();
+                for (String key : legacyKeys) {
+                    editor.remove(key);
+                }
+                editor.apply();
+            }
+        }
+        publishStarredIds();
+    }
+
+    private void publishStarredIds() {
+        BitSet ids = new BitSet();
+        for (int id : problems.keySet()) {
+            if (id >= 0) {
+                ids.set(id);
+            }
+        }
+        starredIds = new StarredIds(ids);
+    }
+
+    private void readFile() {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unsupported revision store format");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                String title = in.readUTF();
+                String titleSlug = in.readUTF();
+                String difficulty = in.readUTF();
+                double acceptanceRate = in.readDouble();
+                String companies = in.readUTF();
+                int topicCount = in.readUnsignedByte();
+                List<String> topics = new ArrayList<>(topicCount);
+                for (int t = 0; t < topicCount; t++) {
+                    topics.add(in.readUTF());
+                }
+                problems.put(id, new Problem(id, title, titleSlug, difficulty, acceptanceRate, companies, topics));
+            }
+            Log.d(TAG, "Loaded " + count + " starred problems");
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Discarding unreadable revision store", e);
+            problems.clear();
+            file.delete();
+        }
+    }
+
+    // Writes are serialized by the single write thread, or happen before it is used
+    private void save(List<Problem> snapshot) {
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(snapshot.size());
+            for (Problem problem : snapshot) {
+                out.writeInt(problem.getId());
+                out.writeUTF(nonNull(problem.getTitle()));
+                out.writeUTF(nonNull(problem.getTitleSlug()));
+                out.writeUTF(nonNull(problem.getDifficulty()));
+                out.writeDouble(problem.getAcceptanceRate());
+                out.writeUTF(nonNull(problem.getCompanies()));
+                List<String> topics = problem.getTopics() != null ? problem.getTopics() : Collections.emptyList();
+                int topicCount = Math.min(topics.size(), 255);
+                out.writeByte(topicCount);
+                for (int t = 0; t < topicCount; t++) {
+                    out.writeUTF(nonNull(topics.get(t)));
+                }
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Error writing revision store", e);
+            temp.delete();
+            return;
+        }
+
+        if (!temp.renameTo(file)) {
+            Log.e(TAG, "Error committing revision store");
+            temp.delete();
+        }
+    }
+
+    private static String nonNull(String value) {
+        return value != null ? value : "";
+    }
+}
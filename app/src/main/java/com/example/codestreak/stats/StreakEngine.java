@@ -0,0 +1,130 @@
+package com.example.codestreak.stats;
+
+/**
+ * StreakEngine - Current and longest streak over a sorted list of active epoch days
+ * Streaks are computed in a single pass and kept up to date incrementally: newer days
+ * can be appended after a refresh without walking the whole history again.
+ */
+public final class StreakEngine {
+    public static final long NO_DAY = Long.MIN_VALUE;
+
+    private long lastDay = NO_DAY;
+    private long runStart = NO_DAY;
+    private int runLength;
+
+    private long longestStart = NO_DAY;
+    private long longestEnd = NO_DAY;
+    private int longestLength;
+
+    /**
+     * Build an engine from ascending epoch days (duplicates are ignored)
+     */
+    public static StreakEngine fromDays(long[] sortedDays) {
+        StreakEngine engine = new StreakEngine();
+        engine.appendDays(sortedDays);
+        return engine;
+    }
+
+    /**
+     * Record one active day. Days must arrive in ascending order.
+     * @return false if the day is older than the last recorded day, in which case
+     *         the engine is unchanged and should be rebuilt from the full history
+     */
+    public boolean addDay(long epochDay) {
+        if (lastDay != NO_DAY) {
+            if (epochDay == lastDay) {
+                return true;
+            }
+            if (epochDay < lastDay) {
+                return false;
+            }
+        }
+
+        if (lastDay != NO_DAY && epochDay == lastDay + 1) {
+            runLength++;
+        } else {
+            runStart = epochDay;
+            runLength = 1;
+        }
+        lastDay = epochDay;
+
+        if (runLength > longestLength) {
+            longestLength = runLength;
+            longestStart = runStart;
+            longestEnd = epochDay;
+        }
+        return true;
+    }
+
+    /**
+     * Append the days of a refreshed, ascending history that are newer than the last
+     * recorded day. Days already seen are skipped.
+     * @return the number of new days applied
+     */
+    public int appendDays(long[] sortedDays) {
+        int start = 0;
+        if (lastDay != NO_DAY) {
+            start = firstIndexAfter(sortedDays, lastDay);
+        }
+
+        int applied = 0;
+        for (int i = start; i < sortedDays.length; i++) {
+            if (sortedDays[i] != lastDay) {
+                addDay(sortedDays[i]);
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Length of the streak that is still alive on the given day, i.e. ends today or
+     * yesterday; 0 if the user has not been active since the day before yesterday
+     */
+    public int getCurrentStreak(long today) {
+        return isRunAlive(today) ? runLength : 0;
+    }
+
+    public long getCurrentStreakStart(long today) {
+        return isRunAlive(today) ? runStart : NO_DAY;
+    }
+
+    public long getCurrentStreakEnd(long today) {
+        return isRunAlive(today) ? lastDay : NO_DAY;
+    }
+
+    public int getLongestStreak() {
+        return longestLength;
+    }
+
+    public long getLongestStreakStart() {
+        return longestStart;
+    }
+
+    public long getLongestStreakEnd() {
+        return longestEnd;
+    }
+
+    public long getLastActiveDay() {
+        return lastDay;
+    }
+
+    private boolean isRunAlive(long today) {
+        // Days ahead of today are allowed: LeetCode buckets by UTC date, which can run ahead of local time
+        return lastDay != NO_DAY && lastDay >= today - 1;
+    }
+
+    private static int firstIndexAfter(long[] sortedDays, long day) {
+        int lo = 0;
+        int hi = sortedDays.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedDays[mid] <= day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.codestreak.stats;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Iterator;
+import java.util.TimeZone;
+
+/**
+ * SubmissionIndex - Day-bucketed view of a LeetCode submissionCalendar
+ * Built once per API response; every lookup is an array access keyed by epoch day
+ * (days since 1970-01-01), so rendering the calendar grid allocates nothing.
+ *
+ * LeetCode keys each day by its UTC midnight timestamp. Day-aligned keys are
+ * therefore treated as date labels, any other timestamp is converted to a date
+ * in the supplied time zone.
+ */
+public final class SubmissionIndex {
+    private static final long SECONDS_PER_DAY = 86400L;
+    private static final long MILLIS_PER_DAY = SECONDS_PER_DAY * 1000L;
+
+    public static final SubmissionIndex EMPTY = new SubmissionIndex(TimeZone.getDefault(), 0, new int[0]);
+
+    private final TimeZone zone;
+    private final long firstDay;
+    private final int[] dayCounts;      // dayCounts[i] = submissions on epoch day firstDay + i
+    private final int firstMonthIndex;  // year * 12 + month of firstDay
+    private final int[] monthCounts;    // totals per month starting at firstMonthIndex
+    private final long[] activeDays;    // ascending epoch days with at least one submission
+    private final int totalSubmissions;
+
+    private SubmissionIndex(TimeZone zone, long firstDay, int[] dayCounts) {
+        this.zone = zone;
+        this.firstDay = firstDay;
+        this.dayCounts = dayCounts;
+
+        int active = 0;
+        int total = 0;
+        for (int count : dayCounts) {
+            if (count > 0) {
+                active++;
+                total += count;
+            }
+        }
+        this.totalSubmissions = total;
+        this.activeDays = new long[active];
+
+        if (dayCounts.length == 0) {
+            this.firstMonthIndex = 0;
+            this.monthCounts = new int[0];
+            return;
+        }
+
+        int[] firstCivil = civilFromDays(firstDay);
+        int[] lastCivil = civilFromDays(firstDay + dayCounts.length - 1);
+        this.firstMonthIndex = firstCivil[0] * 12 + firstCivil[1];
+        this.monthCounts = new int[lastCivil[0] * 12 + lastCivil[1] - firstMonthIndex + 1];
+
+        int[] civil = firstCivil;
+        int a = 0;
+        for (int i = 0; i < dayCounts.length; i++) {
+            if (i > 0) {
+                // Walk the civil date forward instead of recomputing it per day
+                civil[2]++;
+                if (civil[2] > daysInMonth(civil[0], civil[1])) {
+                    civil[2] = 1;
+                    civil[1]++;
+                    if (civil[1] == 12) {
+                        civil[1] = 0;
+                        civil[0]++;
+                    }
+                }
+            }
+            if (dayCounts[i] > 0) {
+                monthCounts[civil[0] * 12 + civil[1] - firstMonthIndex] += dayCounts[i];
+                activeDays[a++] = firstDay + i;
+            }
+        }
+    }
+
+    /**
+     * Build an index from the submissionCalendar object returned by LeetCode
+     * (keys are unix timestamps in seconds, values are submission counts)
+     */
+    public static SubmissionIndex fromCalendar(JSONObject calendar, TimeZone zone) throws JSONException {
+        if (calendar == null || calendar.length() == 0) {
+            return new SubmissionIndex(zone, 0, new int[0]);
+        }
+
+        long[] timestamps = new long[calendar.length()];
+        int[] counts = new int[timestamps.length];
+        int n = 0;
+        Iterator<String> keys = calendar.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            timestamps[n] = Long.parseLong(key);
+            counts[n] = calendar.getInt(key);
+            n++;
+        }
+        return fromTimestamps(timestamps, counts, n, zone);
+    }
+
+    /**
+     * Build an index from parallel arrays of timestamps (seconds) and counts
+     */
+    public static SubmissionIndex fromTimestamps(long[] timestamps, int[] counts, int length, TimeZone zone) {
+        if (length == 0) {
+            return new SubmissionIndex(zone, 0, new int[0]);
+        }
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        long[] days = new long[length];
+        for (int i = 0; i < length; i++) {
+            days[i] = toEpochDay(timestamps[i], zone);
+            min = Math.min(min, days[i]);
+            max = Math.max(max, days[i]);
+        }
+
+        int[] dayCounts = new int[(int) (max - min + 1)];
+        for (int i = 0; i < length; i++) {
+            dayCounts[(int) (days[i] - min)] += counts[i];
+        }
+        return new SubmissionIndex(zone, min, dayCounts);
+    }
+
+    /**
+     * Convert a submissionCalendar timestamp (seconds) to an epoch day
+     */
+    public static long toEpochDay(long timestampSeconds, TimeZone zone) {
+        if (timestampSeconds % SECONDS_PER_DAY == 0) {
+            return timestampSeconds / SECONDS_PER_DAY;
+        }
+        long millis = timestampSeconds * 1000L;
+        return Math.floorDiv(millis + zone.getOffset(millis), MILLIS_PER_DAY);
+    }
+
+    /**
+     * Epoch day for a calendar date
+     * @param month zero based, as used by java.util.Calendar
+     */
+    public static long epochDay(int year, int month, int dayOfMonth) {
+        // days_from_civil (Howard Hinnant), avoids allocating Calendar/LocalDate instances
+        int m = month + 1;
+        int y = m <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yoe = y - era * 400;
+        int doy = (153 * (m > 2 ? m - 3 : m + 9) + 2) / 5 + dayOfMonth - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097L + doe - 719468L;
+    }
+
+    /**
+     * Today's epoch day in the index time zone
+     */
+    public long today() {
+        long now = System.currentTimeMillis();
+        return Math.floorDiv(now + zone.getOffset(now), MILLIS_PER_DAY);
+    }
+
+    /**
+     * Submissions on the given epoch day
+     */
+    public int getCount(long epochDay) {
+        long offset = epochDay - firstDay;
+        if (offset < 0 || offset >= dayCounts.length) {
+            return 0;
+        }
+        return dayCounts[(int) offset];
+    }
+
+    /**
+     * Submissions on the given date
+     * @param month zero based, as used by java.util.Calendar
+     */
+    public int getCount(int year, int month, int dayOfMonth) {
+        return getCount(epochDay(year, month, dayOfMonth));
+    }
+
+    /**
+     * Whether any submission falls in the given month
+     * @param month zero based, as used by java.util.Calendar
+     */
+    public boolean hasSubmissionsInMonth(int year, int month) {
+        int offset = year * 12 + month - firstMonthIndex;
+        return offset >= 0 && offset < monthCounts.length && monthCounts[offset] > 0;
+    }
+
+    /**
+     * Ascending epoch days with at least one submission. The array is shared, do not modify it.
+     */
+    public long[] getActiveDays() {
+        return activeDays;
+    }
+
+    /**
+     * Time zone the days are bucketed in
+     */
+    public TimeZone getTimeZone() {
+        return zone;
+    }
+
+    public int getActiveDayCount() {
+        return activeDays.length;
+    }
+
+    public int getTotalSubmissions() {
+        return totalSubmissions;
+    }
+
+    public boolean isEmpty() {
+        return activeDays.length == 0;
+    }
+
+    /**
+     * civil_from_days (Howard Hinnant)
+     * @return {year, zero based month, day of month}
+     */
+    static int[] civilFromDays(long epochDay) {
+        long z = epochDay + 719468L;
+        long era = Math.floorDiv(z, 146097L);
+        int doe = (int) (z - era * 146097L);
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int d = doy - (153 * mp + 2) / 5 + 1;
+        int m = mp < 10 ? mp + 3 : mp - 9;
+        int y = (int) (yoe + era * 400) + (m <= 2 ? 1 : 0);
+        return new int[]{y, m - 1, d};
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 1:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 3:
+            case 5:
+            case 8:
+            case 10:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
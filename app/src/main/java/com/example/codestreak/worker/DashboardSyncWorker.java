@@ -0,0 +1,183 @@
+package com.example.codestreak.worker;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.SystemClock;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+import com.example.codestreak.CacheManager;
+import com.example.codestreak.LeetCodeAPI;
+import com.example.codestreak.LoginActivity;
+import com.example.codestreak.stats.StreakEngine;
+import com.example.codestreak.stats.SubmissionIndex;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * DashboardSyncWorker - Periodic background refresh of the dashboard data
+ * Refreshes the user's submission stats (including the submission calendar) and the
+ * streaks and solved counts derived from them, and fetches the responses behind the
+ * daily goal cards once per UTC day, all into CacheManager. When the app opens, the
+ * dashboard paints from fresh cache and skips the network. Runs only on a connected
+ * network with a battery that is not low, and records duration and freshness in
+ * {@link SyncMetrics}.
+ */
+public class DashboardSyncWorker extends Worker {
+    private static final String TAG = "DashboardSyncWorker";
+    private static final String UNIQUE_WORK_NAME = "dashboard_sync";
+
+    // Shorter than the 6 hour user stats cache lifetime, so the cache never goes stale
+    private static final long SYNC_INTERVAL_HOURS = 4;
+    private static final long SYNC_FLEX_HOURS = 1;
+    private static final long REQUEST_TIMEOUT_SECONDS = 60;
+    private static final int MAX_RETRIES = 3;
+
+    public DashboardSyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Schedule the periodic sync; keeps the existing schedule if there is one
+     */
+    public static void schedule(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .setRequiresBatteryNotLow(true)
+                .build();
+
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(DashboardSyncWorker.class,
+                SYNC_INTERVAL_HOURS, TimeUnit.HOURS, SYNC_FLEX_HOURS, TimeUnit.HOURS)
+                .setConstraints(constraints)
+                .build();
+
+        WorkManager.getInstance(context).enqueueUniquePeriodicWork(
+                UNIQUE_WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        SharedPreferences prefs = context.getSharedPreferences("CodeStreakPrefs", Context.MODE_PRIVATE);
+        String username = LoginActivity.getLeetCodeUsername(context);
+        if (prefs.getBoolean("is_guest_mode", false) || username == null || username.isEmpty()) {
+            Log.d(TAG, "No LeetCode user, nothing to sync");
+            return Result.success();
+        }
+
+        long startedAt = System.currentTimeMillis();
+        long startedElapsed = SystemClock.elapsedRealtime();
+        CacheManager cacheManager = new CacheManager(context);
+        LeetCodeAPI api = new LeetCodeAPI();
+
+        boolean statsSynced = syncUserStats(cacheManager, api, username);
+        int goalsSynced = 0;
+        if (await(cb -> cacheManager.prefetchDailyGoalResponse("challenge", api::getDailyCodingChallenge, cb)) != null) {
+            goalsSynced++;
+        }
+        if (await(cb -> cacheManager.prefetchDailyGoalResponse("easy", c -> api.getRandomProblem("Easy", c), cb)) != null) {
+            goalsSynced++;
+        }
+        if (await(cb -> cacheManager.prefetchDailyGoalResponse("medium", c -> api.getRandomProblem("Medium", c), cb)) != null) {
+            goalsSynced++;
+        }
+
+        long durationMs = SystemClock.elapsedRealtime() - startedElapsed;
+        boolean success = statsSynced && goalsSynced == 3;
+        String result = "stats " + (statsSynced ? "ok" : "failed") + ", goals " + goalsSynced + "/3";
+        new SyncMetrics(context).recordRun(startedAt, durationMs, success, result);
+        Log.d(TAG, "Sync finished in " + durationMs + "ms: " + result);
+
+        if (success) {
+            return Result.success();
+        }
+        // Whatever did refresh is cached already; retry the rest with WorkManager's backoff
+        return getRunAttemptCount() < MAX_RETRIES ? Result.retry() : Result.failure();
+    }
+
+    /**
+     * Refresh the raw stats response and cache the streaks and solved counts derived from it
+     */
+    private boolean syncUserStats(CacheManager cacheManager, LeetCodeAPI api, String username) {
+        String response = await(cb -> cacheManager.refreshUserSubmissionStats(username, api, cb));
+        if (response == null) {
+            return false;
+        }
+
+        try {
+            JSONObject matchedUser = new JSONObject(response).getJSONObject("data").getJSONObject("matchedUser");
+
+            JSONObject calendar = new JSONObject(matchedUser.getString("submissionCalendar"));
+            SubmissionIndex index = SubmissionIndex.fromCalendar(calendar, TimeZone.getDefault());
+            if (!index.isEmpty()) {
+                StreakEngine engine = StreakEngine.fromDays(index.getActiveDays());
+                cacheManager.cacheStreakData(engine.getCurrentStreak(index.today()), engine.getLongestStreak());
+            }
+
+            int easy = 0, medium = 0, hard = 0;
+            JSONArray acSubmissionNum = matchedUser.getJSONObject("submitStats").getJSONArray("acSubmissionNum");
+            for (int i = 0; i < acSubmissionNum.length(); i++) {
+                JSONObject submission = acSubmissionNum.getJSONObject(i);
+                String difficulty = submission.getString("difficulty");
+                if ("Easy".equals(difficulty)) {
+                    easy = submission.getInt("count");
+                } else if ("Medium".equals(difficulty)) {
+                    medium = submission.getInt("count");
+                } else if ("Hard".equals(difficulty)) {
+                    hard = submission.getInt("count");
+                }
+            }
+            if (easy > 0 || medium > 0 || hard > 0) {
+                cacheManager.cacheProblemCounts(easy, medium, hard);
+            }
+            return true;
+        } catch (Exception e) {
+            Log.e(TAG, "Error reading user stats", e);
+            return false;
+        }
+    }
+
+    /**
+     * Run an async request on this worker thread
+     * @return the response, or null on error or timeout
+     */
+    private static String await(CacheManager.RefreshRequest request) {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<String> result = new AtomicReference<>();
+        request.execute(new LeetCodeAPI.LeetCodeCallback() {
+            @Override
+            public void onSuccess(String response) {
+                result.set(response);
+                done.countDown();
+            }
+
+            @Override
+            public void onError(Exception error) {
+                Log.w(TAG, "Sync request failed: " + error.getMessage());
+                done.countDown();
+            }
+        });
+
+        try {
+            if (!done.await(REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Log.w(TAG, "Sync request timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result.get();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.codestreak.worker;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SyncMetrics - Duration and freshness bookkeeping for the background dashboard sync
+ * Kept in its own SharedPreferences file so clearing the data caches does not
+ * erase the sync history.
+ */
+public final class SyncMetrics {
+    private static final String PREFS_NAME = "sync_metrics";
+    private static final String KEY_LAST_RUN_AT = "last_run_at";
+    private static final String KEY_LAST_DURATION_MS = "last_duration_ms";
+    private static final String KEY_LAST_SUCCESS_AT = "last_success_at";
+    private static final String KEY_LAST_RESULT = "last_result";
+    private static final String KEY_CONSECUTIVE_FAILURES = "consecutive_failures";
+    private static final String KEY_RUN_COUNT = "run_count";
+    private static final String KEY_TOTAL_DURATION_MS = "total_duration_ms";
+
+    private final SharedPreferences prefs;
+
+    public SyncMetrics(Context context) {
+        this.prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Record one sync run
+     * @param result short description of what was refreshed, shown in the cache status
+     */
+    public void recordRun(long startedAt, long durationMs, boolean success, String result) {
+        SharedPreferences.Editor editor = prefs.edit()
+                .putLong(KEY_LAST_RUN_AT, startedAt)
+                .putLong(KEY_LAST_DURATION_MS, durationMs)
+                .putString(KEY_LAST_RESULT, result)
+                .putInt(KEY_RUN_COUNT, prefs.getInt(KEY_RUN_COUNT, 0) + 1)
+                .putLong(KEY_TOTAL_DURATION_MS, prefs.getLong(KEY_TOTAL_DURATION_MS, 0) + durationMs);
+        if (success) {
+            editor.putLong(KEY_LAST_SUCCESS_AT, startedAt + durationMs)
+                    .putInt(KEY_CONSECUTIVE_FAILURES, 0);
+        } else {
+            editor.putInt(KEY_CONSECUTIVE_FAILURES, prefs.getInt(KEY_CONSECUTIVE_FAILURES, 0) + 1);
+        }
+        editor.apply();
+    }
+
+    /**
+     * Age of the data written by the last successful sync, or -1 if none succeeded yet
+     */
+    public long getFreshnessMs(long now) {
+        long lastSuccessAt = prefs.getLong(KEY_LAST_SUCCESS_AT, 0);
+        return lastSuccessAt > 0 ? Math.max(0, now - lastSuccessAt) : -1;
+    }
+
+    public long getLastDurationMs() {
+        return prefs.getLong(KEY_LAST_DURATION_MS, 0);
+    }
+
+    public long getAverageDurationMs() {
+        int runs = prefs.getInt(KEY_RUN_COUNT, 0);
+        return runs > 0 ? prefs.getLong(KEY_TOTAL_DURATION_MS, 0) / runs : 0;
+    }
+
+    public int getConsecutiveFailures() {
+        return prefs.getInt(KEY_CONSECUTIVE_FAILURES, 0);
+    }
+
+    /**
+     * One-line summary for the cache status text
+     */
+    public String getSummary(long now) {
+        long freshnessMs = getFreshnessMs(now);
+        if (freshnessMs < 0) {
+            return "Background sync: never";
+        }
+        String summary = "Background sync: " + TimeUnit.MILLISECONDS.toMinutes(freshnessMs) + "m ago ("
+                + getLastDurationMs() + "ms)";
+        int failures = getConsecutiveFailures();
+        if (failures > 0) {
+            summary += ", " + failures + " failed since";
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.codestreak.cache;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayDeque;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for removing and clearing DiskObjectCache entries. Disk work is
+ * queued so the tests decide when it runs.
+ */
+public class DiskObjectCacheTest {
+    private static final long TTL_MS = 60_000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ArrayDeque<Runnable> diskWork = new ArrayDeque<>();
+    private File directory;
+
+    @Before
+    public void setUp() {
+        directory = new File(folder.getRoot(), "object_cache");
+    }
+
+    @Test
+    public void removedEntry_isGoneBeforeItsFileIsDeleted() {
+        DiskObjectCache cache = newCache();
+        cache.put("stats", "42", TTL_MS);
+        cache.remove("stats");
+
+        assertNull(cache.get("stats"));
+        runDiskWork();
+        assertNull(cache.get("stats"));
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void removedEntry_isNotReadBackFromDisk() {
+        DiskObjectCache cache = newCache();
+        cache.put("stats", "42", TTL_MS);
+        runDiskWork();
+        assertEquals(1, cache.getEntryCount());
+
+        cache.remove("stats");
+        assertNull(cache.get("stats"));
+        assertEquals(0, cache.getEntryCount());
+        runDiskWork();
+        assertNull(cache.get("stats"));
+    }
+
+    @Test
+    public void clearedEntries_areNotReadBackFromDisk() {
+        DiskObjectCache cache = newCache();
+        cache.put("stats", "42", TTL_MS);
+        cache.put("calendar", "{}", TTL_MS);
+        runDiskWork();
+        cache.put("profile", "me", TTL_MS);
+
+        cache.clear();
+        assertNull(cache.get("stats"));
+        assertNull(cache.get("profile"));
+        assertEquals(0, cache.getDiskBytes());
+
+        runDiskWork();
+        assertNull(cache.get("calendar"));
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void putAfterRemove_isKept() {
+        DiskObjectCache cache = newCache();
+        cache.put("stats", "1", TTL_MS);
+        runDiskWork();
+        cache.remove("stats");
+        cache.put("stats", "2", TTL_MS);
+        runDiskWork();
+
+        assertEquals("2", cache.get("stats").value);
+        assertEquals(1, cache.getEntryCount());
+    }
+
+    private DiskObjectCache newCache() {
+        // No memory tier, so every get after a write goes to disk
+        return new DiskObjectCache(directory, 1024 * 1024, 1, diskWork::add);
+    }
+
+    private void runDiskWork() {
+        while (!diskWork.isEmpty()) {
+            diskWork.poll().run();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.codestreak.network;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the circuit breaker states and the half-open probe.
+ */
+public class CircuitBreakerTest {
+    private static final long OPEN_MS = 30;
+
+    @Test
+    public void opensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, 60_000);
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertTrue(breaker.isClosed());
+
+        breaker.onFailure();
+        assertFalse(breaker.isClosed());
+        assertEquals(CircuitBreaker.Permit.REJECTED, breaker.acquire());
+        assertTrue(breaker.getRemainingOpenMs() > 0);
+    }
+
+    @Test
+    public void sameError_countsOnce() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 60_000);
+        Exception shared = new java.io.IOException("timeout");
+        breaker.onFailure(shared);
+        breaker.onFailure(shared);
+        assertTrue(breaker.isClosed());
+
+        breaker.onFailure(new java.io.IOException("timeout"));
+        assertFalse(breaker.isClosed());
+    }
+
+    @Test
+    public void onlyOneProbe_andItsSuccessCloses() throws InterruptedException {
+        CircuitBreaker breaker = openBreaker();
+
+        assertEquals(CircuitBreaker.Permit.PROBE, breaker.acquire());
+        assertEquals(CircuitBreaker.Permit.REJECTED, breaker.acquire());
+        breaker.onSuccess();
+        assertTrue(breaker.isClosed());
+        assertEquals(CircuitBreaker.Permit.ALLOWED, breaker.acquire());
+    }
+
+    @Test
+    public void failedProbe_reopens() throws InterruptedException {
+        CircuitBreaker breaker = openBreaker();
+
+        assertEquals(CircuitBreaker.Permit.PROBE, breaker.acquire());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.Permit.REJECTED, breaker.acquire());
+        assertTrue(breaker.getRemainingOpenMs() > 0);
+    }
+
+    @Test
+    public void releasedProbe_reopensForAFullInterval() throws InterruptedException {
+        CircuitBreaker breaker = openBreaker();
+
+        assertEquals(CircuitBreaker.Permit.PROBE, breaker.acquire());
+        breaker.releaseProbe();
+        assertEquals(CircuitBreaker.Permit.REJECTED, breaker.acquire());
+        assertTrue(breaker.getRemainingOpenMs() > 0);
+
+        Thread.sleep(OPEN_MS + 10);
+        assertEquals(CircuitBreaker.Permit.PROBE, breaker.acquire());
+    }
+
+    @Test
+    public void releaseProbe_afterAnOutcomeDoesNothing() throws InterruptedException {
+        CircuitBreaker breaker = openBreaker();
+
+        assertEquals(CircuitBreaker.Permit.PROBE, breaker.acquire());
+        breaker.onSuccess();
+        breaker.releaseProbe();
+        assertTrue(breaker.isClosed());
+    }
+
+    /**
+     * A breaker whose open interval has just passed, so the next caller is the probe
+     */
+    private static CircuitBreaker openBreaker() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, OPEN_MS);
+        breaker.onFailure();
+        Thread.sleep(OPEN_MS + 10);
+        return breaker;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.codestreak.network;
+
+import com.example.codestreak.LeetCodeAPI.LeetCodeCallback;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for merging queries into one aliased request and splitting the
+ * answer, or the failure, back up. Batches fill up at two queries, so they are sent
+ * as soon as the second one is enqueued.
+ */
+public class GraphQLBatcherTest {
+    private final List<String> sent = new ArrayList<>();
+    private final List<LeetCodeCallback> requests = new ArrayList<>();
+    private final List<Object> first = new ArrayList<>();
+    private final List<Object> second = new ArrayList<>();
+
+    private final GraphQLBatcher batcher = new GraphQLBatcher(60_000, 2, (query, timeoutMs, callback) -> {
+        sent.add(query);
+        requests.add(callback);
+        return ResilientCall.Cancellable.NONE;
+    });
+
+    @Test
+    public void topLevelFields_keepExistingAliasesAsKeys() {
+        List<String[]> fields = GraphQLBatcher.topLevelFields(
+                "{ user: matchedUser(username: \"a}b\") { username } allQuestionsCount { count } }");
+
+        assertEquals(2, fields.size());
+        assertArrayEquals(new String[] {"user", "matchedUser(username: \"a}b\") { username }"}, fields.get(0));
+        assertArrayEquals(new String[] {"allQuestionsCount", "allQuestionsCount { count }"}, fields.get(1));
+        assertNull(GraphQLBatcher.topLevelFields("query Named { a }"));
+        assertNull(GraphQLBatcher.topLevelFields("{ ...Fragment }"));
+    }
+
+    @Test
+    public void batch_isSplitByAlias() throws JSONException {
+        batcher.enqueue("{ matchedUser(username: \"a\") { username } }", 1_000, into(first));
+        batcher.enqueue("{ user: matchedUser(username: \"b\") { username } }", 2_000, into(second));
+
+        assertEquals(1, sent.size());
+        assertEquals("{\n  q0_0: matchedUser(username: \"a\") { username }\n"
+                + "  q1_0: matchedUser(username: \"b\") { username }\n}", sent.get(0));
+
+        requests.get(0).onSuccess("{\"data\": {\"q0_0\": {\"username\": \"a\"}, \"q1_0\": null},"
+                + " \"errors\": [{\"message\": \"missing\", \"path\": [\"q1_0\"]}]}");
+
+        JSONObject a = new JSONObject((String) first.get(0));
+        assertEquals("a", a.getJSONObject("data").getJSONObject("matchedUser").getString("username"));
+        assertFalse(a.has("errors"));
+        JSONObject b = new JSONObject((String) second.get(0));
+        assertTrue(b.getJSONObject("data").isNull("user"));
+        assertEquals("user", b.getJSONArray("errors").getJSONObject(0).getJSONArray("path").getString(0));
+    }
+
+    @Test
+    public void rejectedDocument_isSentAgainQueryByQuery() {
+        batcher.enqueue("{ a }", 1_000, into(first));
+        batcher.enqueue("{ b }", 1_000, into(second));
+        requests.get(0).onError(new HttpStatusException(400, "Bad Request"));
+
+        assertEquals(Arrays.asList("{ a }", "{ b }"), sent.subList(1, 3));
+        assertTrue(first.isEmpty());
+        requests.get(1).onSuccess("{\"data\": {\"a\": 1}}");
+        assertEquals("{\"data\": {\"a\": 1}}", first.get(0));
+    }
+
+    @Test
+    public void responseWithoutData_isSentAgainQueryByQuery() {
+        batcher.enqueue("{ a }", 1_000, into(first));
+        batcher.enqueue("{ b }", 1_000, into(second));
+        requests.get(0).onSuccess("{\"errors\": [{\"message\": \"Syntax Error\"}]}");
+
+        assertEquals(3, sent.size());
+    }
+
+    @Test
+    public void transportFailure_goesToEveryQueryOnce() {
+        batcher.enqueue("{ a }", 1_000, into(first));
+        batcher.enqueue("{ b }", 1_000, into(second));
+        IOException failure = new IOException("timeout");
+        requests.get(0).onError(failure);
+
+        assertEquals(1, sent.size());
+        assertSame(failure, first.get(0));
+        assertSame(failure, second.get(0));
+    }
+
+    @Test
+    public void failedBatch_countsOnceTowardsTheBreaker() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 60_000);
+        RetryPolicy once = new RetryPolicy(1, 0, 0, 5_000);
+        ResilientCall.execute(once, breaker, (timeoutMs, attempt) -> batcher.enqueue("{ a }", timeoutMs, attempt), into(first));
+        ResilientCall.execute(once, breaker, (timeoutMs, attempt) -> batcher.enqueue("{ b }", timeoutMs, attempt), into(second));
+
+        requests.get(0).onError(new IOException("timeout"));
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        assertTrue(breaker.isClosed());
+    }
+
+    @Test
+    public void withdrawnQuery_isLeftOut() {
+        ResilientCall.Cancellable withdrawn = batcher.enqueue("{ a }", 1_000, into(first));
+        withdrawn.cancel();
+        batcher.enqueue("{ b }", 1_000, into(second));
+        batcher.enqueue("{ c }", 1_000, into(second));
+
+        assertEquals(1, sent.size());
+        assertFalse(sent.get(0).contains(" a"));
+    }
+
+    private static LeetCodeCallback into(List<Object> outcomes) {
+        return new LeetCodeCallback() {
+            @Override
+            public void onSuccess(String response) {
+                outcomes.add(response);
+            }
+
+            @Override
+            public void onError(Exception error) {
+                outcomes.add(error);
+            }
+        };
+    }
+}
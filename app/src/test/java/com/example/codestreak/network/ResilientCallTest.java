@@ -0,0 +1,135 @@
+package com.example.codestreak.network;
+
+import com.example.codestreak.LeetCodeAPI.LeetCodeCallback;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for deadlines, cancellation and circuit breaker reporting in
+ * ResilientCall. Attempts never touch the network; the tests complete them by hand.
+ */
+public class ResilientCallTest {
+    private static final long OPEN_MS = 30;
+
+    private final BlockingQueue<Object> outcomes = new LinkedBlockingQueue<>();
+    private final List<LeetCodeCallback> attempts = new CopyOnWriteArrayList<>();
+    private final List<Long> timeouts = new CopyOnWriteArrayList<>();
+    private final AtomicInteger cancelled = new AtomicInteger();
+
+    @Test
+    public void success_closesTheBreaker() throws InterruptedException {
+        CircuitBreaker breaker = openBreaker();
+        ResilientCall.execute(policy(1, 5_000), breaker, this::recordAttempt, callback());
+
+        assertFalse(breaker.isClosed());
+        attempts.get(0).onSuccess("ok");
+        assertEquals("ok", nextOutcome());
+        assertTrue(breaker.isClosed());
+    }
+
+    @Test
+    public void attempt_getsTheTimeLeftBeforeTheDeadline() throws InterruptedException {
+        ResilientCall.execute(policy(2, 5_000), new CircuitBreaker("test", 5, OPEN_MS), this::recordAttempt, callback());
+
+        assertTrue(timeouts.get(0) > 4_000 && timeouts.get(0) <= 5_000);
+        attempts.get(0).onError(new IOException("reset"));
+        // Retried after the backoff with less time left
+        assertTrue(waitForAttempts(2));
+        assertTrue(timeouts.get(1) < timeouts.get(0));
+    }
+
+    @Test
+    public void cancelledProbe_isGivenBack() throws InterruptedException {
+        CircuitBreaker breaker = openBreaker();
+        ResilientCall.Cancellable call = ResilientCall.execute(policy(1, 5_000), breaker, this::recordAttempt, callback());
+        assertEquals(CircuitBreaker.Permit.REJECTED, breaker.acquire());
+
+        call.cancel();
+        assertEquals(1, cancelled.get());
+        assertTrue(breaker.getRemainingOpenMs() > 0);
+        Thread.sleep(OPEN_MS + 10);
+        assertEquals(CircuitBreaker.Permit.PROBE, breaker.acquire());
+        assertNull(outcomes.poll());
+    }
+
+    @Test
+    public void deadline_cancelsTheAttemptAndGivesBackTheProbe() throws InterruptedException {
+        CircuitBreaker breaker = openBreaker();
+        ResilientCall.execute(policy(1, 50), breaker, this::recordAttempt, callback());
+
+        assertTrue(nextOutcome() instanceof InterruptedIOException);
+        assertEquals(1, cancelled.get());
+        assertTrue(breaker.getRemainingOpenMs() > 0);
+        Thread.sleep(OPEN_MS + 10);
+        assertEquals(CircuitBreaker.Permit.PROBE, breaker.acquire());
+    }
+
+    @Test
+    public void lateResult_isDroppedWithoutTouchingTheBreaker() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, OPEN_MS);
+        ResilientCall.execute(policy(1, 50), breaker, this::recordAttempt, callback());
+        assertTrue(nextOutcome() instanceof InterruptedIOException);
+
+        attempts.get(0).onError(new IOException("Canceled"));
+        assertTrue(breaker.isClosed());
+        breaker.onFailure();
+        attempts.get(0).onSuccess("late");
+        assertFalse(breaker.isClosed());
+        assertNull(outcomes.poll(50, TimeUnit.MILLISECONDS));
+    }
+
+    private ResilientCall.Cancellable recordAttempt(long timeoutMs, LeetCodeCallback callback) {
+        timeouts.add(timeoutMs);
+        attempts.add(callback);
+        return cancelled::incrementAndGet;
+    }
+
+    private LeetCodeCallback callback() {
+        return new LeetCodeCallback() {
+            @Override
+            public void onSuccess(String response) {
+                outcomes.add(response);
+            }
+
+            @Override
+            public void onError(Exception error) {
+                outcomes.add(error);
+            }
+        };
+    }
+
+    private Object nextOutcome() throws InterruptedException {
+        Object outcome = outcomes.poll(5, TimeUnit.SECONDS);
+        assertNotNull("No outcome", outcome);
+        return outcome;
+    }
+
+    private boolean waitForAttempts(int count) throws InterruptedException {
+        for (int i = 0; i < 500 && attempts.size() < count; i++) {
+            Thread.sleep(10);
+        }
+        return attempts.size() >= count;
+    }
+
+    private static RetryPolicy policy(int maxAttempts, long deadlineMs) {
+        return new RetryPolicy(maxAttempts, 10, 20, deadlineMs);
+    }
+
+    private static CircuitBreaker openBreaker() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, OPEN_MS);
+        breaker.onFailure();
+        Thread.sleep(OPEN_MS + 10);
+        return breaker;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.codestreak.network;
+
+import com.example.codestreak.LeetCodeAPI.LeetCodeCallback;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for sharing identical requests and remembering their responses.
+ */
+public class SingleFlightTest {
+    private final List<String> sent = new ArrayList<>();
+    private final List<LeetCodeCallback> requests = new ArrayList<>();
+    private final List<Object> outcomes = new ArrayList<>();
+    private int cancelled;
+
+    private final GraphQLBatcher.Transport transport = (query, timeoutMs, callback) -> {
+        sent.add(query);
+        requests.add(callback);
+        return () -> cancelled++;
+    };
+
+    @Test
+    public void identicalRequests_shareOneCall() {
+        SingleFlight flight = new SingleFlight(0);
+        flight.execute("q", 1_000, record(), transport);
+        flight.execute("q", 1_000, record(), transport);
+        flight.execute("other", 1_000, record(), transport);
+
+        assertEquals(Arrays.asList("q", "other"), sent);
+        requests.get(0).onSuccess("r");
+        assertEquals(Arrays.asList("r", "r"), outcomes);
+    }
+
+    @Test
+    public void success_isRememberedButErrorsAreNot() {
+        SingleFlight flight = new SingleFlight(60_000);
+        flight.execute("q", 1_000, record(), transport);
+        requests.get(0).onSuccess("r");
+        flight.execute("q", 1_000, record(), transport);
+        assertEquals(1, sent.size());
+        assertEquals(Arrays.asList("r", "r"), outcomes);
+
+        flight.execute("failing", 1_000, record(), transport);
+        requests.get(1).onError(new IOException("reset"));
+        flight.execute("failing", 1_000, record(), transport);
+        assertEquals(3, sent.size());
+    }
+
+    @Test
+    public void call_isCancelledOnceNobodyWaits() {
+        SingleFlight flight = new SingleFlight(0);
+        ResilientCall.Cancellable first = flight.execute("q", 1_000, record(), transport);
+        ResilientCall.Cancellable second = flight.execute("q", 1_000, record(), transport);
+
+        first.cancel();
+        assertEquals(0, cancelled);
+        second.cancel();
+        assertEquals(1, cancelled);
+
+        // A new caller starts over instead of joining the cancelled call
+        flight.execute("q", 1_000, record(), transport);
+        assertEquals(2, sent.size());
+        requests.get(0).onSuccess("stale");
+        assertTrue(outcomes.isEmpty());
+    }
+
+    private LeetCodeCallback record() {
+        return new LeetCodeCallback() {
+            @Override
+            public void onSuccess(String response) {
+                outcomes.add(response);
+            }
+
+            @Override
+            public void onError(Exception error) {
+                outcomes.add(error);
+            }
+        };
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.codestreak.problems;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for decoding and indexing the company dataset. The buffer is
+ * written here in the layout company-dataset.gradle produces.
+ */
+public class CompanyDatasetTest {
+    private CompanyDataset dataset;
+
+    @Before
+    public void setUp() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(CompanyDataset.FILE_MAGIC);
+        out.writeInt(CompanyDataset.FORMAT_VERSION);
+        writeDictionary(out, "Easy", "Medium", "Hard");
+        writeDictionary(out, "Meta", "Google", "Netflix");
+        writeDictionary(out, "Array", "Hash Table", "Tree");
+
+        // 1 Two Sum (Meta, Google), 104 Maximum Depth (Google), 295 Find Median (Netflix)
+        out.writeInt(3);
+        for (int id : new int[] {1, 104, 295}) {
+            out.writeInt(id);
+        }
+        out.writeByte(0);
+        out.writeByte(0);
+        out.writeByte(2);
+        out.writeShort(491);
+        out.writeShort(744);
+        out.writeShort(511);
+
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream recordOut = new DataOutputStream(records);
+        int[] offsets = new int[3];
+        offsets[0] = recordOut.size();
+        writeRecord(recordOut, "Two Sum", new int[] {0, 1}, new int[] {0, 1});
+        offsets[1] = recordOut.size();
+        writeRecord(recordOut, "Maximum Depth of Binary Tree", new int[] {2}, new int[] {1});
+        offsets[2] = recordOut.size();
+        writeRecord(recordOut, "Find Median from Data Stream", new int[] {}, new int[] {2});
+        for (int offset : offsets) {
+            out.writeInt(offset);
+        }
+
+        writeOrdinals(out, 0);
+        writeOrdinals(out, 0, 1);
+        writeOrdinals(out, 2);
+        out.write(records.toByteArray());
+
+        dataset = new CompanyDataset(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+
+    @Test
+    public void problems_decodeInIdOrderWithMergedCompanies() {
+        List<Problem> problems = dataset.getProblems();
+
+        assertEquals(3, problems.size());
+        Problem twoSum = problems.get(0);
+        assertEquals(1, twoSum.getId());
+        assertEquals("Two Sum", twoSum.getTitle());
+        assertEquals("two-sum", twoSum.getTitleSlug());
+        assertEquals("Easy", twoSum.getDifficulty());
+        // Acceptance rates are kept as floats
+        assertEquals(49.1, twoSum.getAcceptanceRate(), 1e-5);
+        assertEquals(Arrays.asList("Meta", "Google"), twoSum.getCompanyList());
+        assertEquals("Meta, Google", twoSum.getCompanies());
+        assertEquals(Arrays.asList("Array", "Hash Table"), twoSum.getTopics());
+        assertEquals(Collections.emptyList(), problems.get(2).getTopics());
+        // Decoded once and shared
+        assertSame(twoSum, dataset.get(0));
+    }
+
+    @Test
+    public void companies_countAndListWithoutDecoding() {
+        assertEquals(2, dataset.countFor("Google"));
+        assertEquals(0, dataset.countFor("Apple"));
+        assertEquals(Arrays.asList("Meta", "Google", "Netflix"), dataset.getCompanies());
+
+        List<Problem> google = dataset.getProblems("Google");
+        assertEquals(2, google.size());
+        assertEquals(1, google.get(0).getId());
+        assertEquals(104, google.get(1).getId());
+        assertTrue(dataset.getProblems("Apple").isEmpty());
+    }
+
+    @Test
+    public void selection_isIntersectionOfOrdinalSets() {
+        BitSet selection = dataset.companyBits("Google");
+        selection.and(dataset.difficultyBits(Collections.singleton("Easy")));
+
+        List<Problem> result = dataset.select(selection);
+        assertEquals(2, result.size());
+        assertEquals(104, result.get(1).getId());
+
+        BitSet hard = dataset.allBits();
+        hard.and(dataset.difficultyBits(Arrays.asList("Hard", "Medium")));
+        assertEquals(1, dataset.select(hard).size());
+        assertEquals(295, dataset.select(hard).get(0).getId());
+    }
+
+    @Test
+    public void sortedSelection_walksThePermutation() {
+        List<Problem> byTitle = dataset.select(dataset.allBits(), ProblemOrder.TITLE_ASC);
+        assertEquals(295, byTitle.get(0).getId());
+        assertEquals(104, byTitle.get(1).getId());
+        assertEquals(1, byTitle.get(2).getId());
+
+        List<Problem> google = dataset.select(dataset.companyBits("Google"), ProblemOrder.ACCEPTANCE_DESC);
+        assertEquals(2, google.size());
+        assertEquals(104, google.get(0).getId());
+        assertEquals(1, google.get(1).getId());
+    }
+
+    @Test
+    public void indexSets_areCopies() {
+        dataset.companyBits("Meta").clear();
+        assertEquals(1, dataset.companyBits("Meta").cardinality());
+    }
+
+    @Test
+    public void topics_mapToOrdinals() {
+        assertEquals(BitSet.valueOf(new long[] {0b010}), dataset.topicBits("Tree"));
+        assertEquals(BitSet.valueOf(new long[] {0b001}), dataset.topicBits("Hash Table"));
+        assertTrue(dataset.topicBits("Graph").isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void otherFormats_areRejected() {
+        new CompanyDataset(ByteBuffer.wrap(new byte[] {0, 0, 0, 1, 0, 0, 0, 1}));
+    }
+
+    private static void writeDictionary(DataOutputStream out, String... values) throws IOException {
+        out.writeShort(values.length);
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeRecord(DataOutputStream out, String title, int[] topics, int[] companies) throws IOException {
+        writeString(out, title);
+        out.writeByte(topics.length);
+        for (int topic : topics) {
+            out.writeShort(topic);
+        }
+        out.writeByte(companies.length);
+        for (int company : companies) {
+            out.writeShort(company);
+        }
+    }
+
+    private static void writeOrdinals(DataOutputStream out, int... ordinals) throws IOException {
+        out.writeShort(ordinals.length);
+        for (int ordinal : ordinals) {
+            out.writeShort(ordinal);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.codestreak.problems;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Microbenchmark comparing HtmlText with the previous chain of regex replacements
+ * used to clean problem HTML. Prints timings and, where the JVM reports it, bytes
+ * allocated per conversion. Skipped unless benchmarks are asked for:
+ * ./gradlew testDebugUnitTest -Pbenchmarks --tests '*Benchmark'
+ * The conversions are checked against each other in HtmlTextTest.
+ */
+public class HtmlTextBenchmark {
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int MEASURED_ITERATIONS = 2000;
+
+    @Before
+    public void requireBenchmarks() {
+        assumeTrue("Benchmarks run with -Pbenchmarks", Boolean.getBoolean("benchmarks"));
+    }
+
+    @Test
+    public void benchmark_longProblemStatement() {
+        // A long statement: the Two Sum body repeated to roughly 20KB
+        StringBuilder html = new StringBuilder();
+        while (html.length() < 20_000) {
+            html.append(HtmlTextTest.TWO_SUM_HTML).append("\n");
+        }
+        String statement = html.toString();
+
+        String tokenized = null;
+        String legacy = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            tokenized = HtmlText.toMarkdown(statement);
+            legacy = HtmlTextTest.legacyParseHtml(statement);
+        }
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            tokenized = HtmlText.toMarkdown(statement);
+        }
+        long tokenizerNanos = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+        long tokenizerBytes = (allocatedBytes() - allocatedBefore) / MEASURED_ITERATIONS;
+
+        allocatedBefore = allocatedBytes();
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            legacy = HtmlTextTest.legacyParseHtml(statement);
+        }
+        long legacyNanos = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+        long legacyBytes = (allocatedBytes() - allocatedBefore) / MEASURED_ITERATIONS;
+
+        System.out.println("HtmlText benchmark (" + statement.length() + " chars): tokenizer "
+                + tokenizerNanos / 1000 + " us/op, " + tokenizerBytes + " B/op; legacy regex "
+                + legacyNanos / 1000 + " us/op, " + legacyBytes + " B/op");
+
+        // Same text, apart from the line breaks, fences and superscripts the legacy chain lost
+        assertEquals(legacy.replaceAll("[`\\s]", ""), tokenized.replaceAll("[`\\s^]", ""));
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
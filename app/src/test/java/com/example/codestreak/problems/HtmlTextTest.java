@@ -0,0 +1,139 @@
+package com.example.codestreak.problems;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the single pass HTML to markdown conversion.
+ */
+public class HtmlTextTest {
+    static final String TWO_SUM_HTML = "<p>Given an array of integers <code>nums</code>&nbsp;and an integer "
+            + "<code>target</code>, return <em>indices of the two numbers such that they add up to "
+            + "<code>target</code></em>.</p>\n\n"
+            + "<p>You may assume that each input would have <strong><em>exactly</em> one solution</strong>, "
+            + "and you may not use the <em>same</em> element twice.</p>\n\n"
+            + "<p>&nbsp;</p>\n"
+            + "<p><strong class=\"example\">Example 1:</strong></p>\n\n"
+            + "<pre>\n<strong>Input:</strong> nums = [2,7,11,15], target = 9\n"
+            + "<strong>Output:</strong> [0,1]\n"
+            + "<strong>Explanation:</strong> Because nums[0] + nums[1] == 9, we return [0, 1].\n</pre>\n\n"
+            + "<p><strong>Constraints:</strong></p>\n\n"
+            + "<ul>\n\t<li><code>2 &lt;= nums.length &lt;= 10<sup>4</sup></code></li>\n"
+            + "\t<li><code>-10<sup>9</sup> &lt;= nums[i] &lt;= 10<sup>9</sup></code></li>\n"
+            + "\t<li><strong>Only one valid answer exists.</strong></li>\n</ul>\n\n"
+            + "<p>&nbsp;</p>\n"
+            + "<strong>Follow-up:&nbsp;</strong>Can you come up with an algorithm that is less than "
+            + "<code>O(n<sup>2</sup>)</code><font face=\"monospace\">&nbsp;</font>time complexity?";
+
+    @Test
+    public void inlineTags_becomeMarkdown() {
+        assertEquals("Use `nums` and **bold** and *em*.",
+                HtmlText.toMarkdown("<p>Use <code>nums</code> and <b>bold</b> and <i>em</i>.</p>"));
+    }
+
+    @Test
+    public void entities_areDecoded() {
+        assertEquals("a < b && c > d \"q\" 'x' - — ... ' é",
+                HtmlText.toMarkdown("a &lt; b &amp;&amp; c &gt; d &quot;q&quot; &lsquo;x&rsquo; &ndash; &mdash; &hellip; &#39; &#xe9;"));
+    }
+
+    @Test
+    public void unknownEntities_areDroppedAndBareAmpersandsKept() {
+        assertEquals("AT&T x", HtmlText.toMarkdown("AT&T &bogus;x"));
+    }
+
+    @Test
+    public void whitespace_collapsesOutsidePre() {
+        assertEquals("one two\n\nthree", HtmlText.toMarkdown("<p>  one \n\t two  </p>\n\n\n<p>three</p>"));
+    }
+
+    @Test
+    public void pre_isFencedAndVerbatim() {
+        assertEquals("Example:\n\n```\nInput: a  =  1\nOutput: 2\n```",
+                HtmlText.toMarkdown("<p>Example:</p><pre>\nInput: a  =  1\nOutput: 2\n</pre>"));
+    }
+
+    @Test
+    public void listItems_areBulletLines() {
+        assertEquals("• one\n• two", HtmlText.toMarkdown("<ul>\n <li>one</li>\n <li>two</li>\n</ul>"));
+    }
+
+    @Test
+    public void superscript_isCaret() {
+        assertEquals("`1 <= n <= 10^4`", HtmlText.toMarkdown("<code>1 &lt;= n &lt;= 10<sup>4</sup></code>"));
+    }
+
+    @Test
+    public void stripMarkdown_removesMarkers() {
+        assertEquals("Input: nums = [1]\nbold x code",
+                HtmlText.stripMarkdown("```\n**Input:** nums = [1]\n```\n**bold** *x* `code`"));
+    }
+
+    @Test
+    public void normalize_keepsLines() {
+        assertEquals("[2,7,11,15]\n9\n\"a&b\"", HtmlText.normalize("[2,7,11,15]\r\n9\n\"a&amp;b\"  "));
+    }
+
+    @Test
+    public void problemStatement_keepsSectionsOnTheirOwnLines() {
+        String text = HtmlText.stripMarkdown(HtmlText.toMarkdown(TWO_SUM_HTML));
+
+        assertTrue(text.startsWith("Given an array of integers nums and an integer target, return *indices"));
+        assertTrue(text.contains("\nExample 1:\n\nInput: nums = [2,7,11,15], target = 9\nOutput: [0,1]\n"));
+        assertTrue(text.contains("\nConstraints:\n\n• 2 <= nums.length <= 10^4\n• -10^9 <= nums[i] <= 10^9\n"));
+        assertTrue(text.endsWith("less than O(n^2) time complexity?"));
+    }
+
+    @Test
+    public void problemStatement_hasTheTextOfTheRegexChain() {
+        String tokenized = HtmlText.toMarkdown(TWO_SUM_HTML);
+        String legacy = legacyParseHtml(TWO_SUM_HTML);
+
+        // Same text, apart from the line breaks, fences and superscripts the legacy chain lost
+        assertEquals(legacy.replaceAll("[`\\s]", ""), tokenized.replaceAll("[`\\s^]", ""));
+    }
+
+    /**
+     * parseHtmlContent as previously implemented in ProblemDetailActivity
+     */
+    static String legacyParseHtml(String htmlContent) {
+        return htmlContent
+                .replaceAll("<pre[^>]*>", "\n```\n")
+                .replaceAll("</pre>", "\n```\n")
+                .replaceAll("<code[^>]*>", "`")
+                .replaceAll("</code>", "`")
+                .replaceAll("<(strong|b)[^>]*>", "**")
+                .replaceAll("</(strong|b)>", "**")
+                .replaceAll("<(em|i)[^>]*>", "*")
+                .replaceAll("</(em|i)>", "*")
+                .replaceAll("<p[^>]*>", "\n")
+                .replaceAll("</p>", "\n")
+                .replaceAll("<br[^>]*>", "\n")
+                .replaceAll("<li[^>]*>", "• ")
+                .replaceAll("</li>", "\n")
+                .replaceAll("<[^>]+>", "")
+                .replaceAll("&nbsp;", " ")
+                .replaceAll("&amp;", "&")
+                .replaceAll("&lt;", "<")
+                .replaceAll("&gt;", ">")
+                .replaceAll("&quot;", "\"")
+                .replaceAll("&#39;", "'")
+                .replaceAll("&#x27;", "'")
+                .replaceAll("&apos;", "'")
+                .replaceAll("&ldquo;", "\"")
+                .replaceAll("&rdquo;", "\"")
+                .replaceAll("&lsquo;", "'")
+                .replaceAll("&rsquo;", "'")
+                .replaceAll("&ndash;", "-")
+                .replaceAll("&mdash;", "—")
+                .replaceAll("&hellip;", "...")
+                .replaceAll("&#\\d+;", "")
+                .replaceAll("&[a-zA-Z]+;", "")
+                .replaceAll("\\s+", " ")
+                .replaceAll("\\n\\s*\\n\\s*\\n", "\n\n")
+                .replaceAll("^\\s+", "")
+                .replaceAll("\\s+$", "")
+                .trim();
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.codestreak.problems;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for page loading, prefetching and dropping in the paged problem
+ * list. Loads and deliveries are queued so the tests decide when they run.
+ */
+public class PagedProblemListTest {
+    private final ArrayDeque<Runnable> loads = new ArrayDeque<>();
+    private final ArrayDeque<Runnable> deliveries = new ArrayDeque<>();
+    private final Executor loadExecutor = loads::add;
+    private final Executor mainExecutor = deliveries::add;
+    private int loaded;
+
+    private PagedProblemList.Config<String> config;
+    private int[] ordinals;
+
+    @Before
+    public void setUp() {
+        // 100 rows of 10-row pages; the window around a row is 3 pages at most
+        config = new PagedProblemList.Config<>(ordinal -> {
+            loaded++;
+            return "problem " + ordinal;
+        }, loadExecutor, mainExecutor, 10, 10, 5);
+        ordinals = new int[100];
+        for (int i = 0; i < ordinals.length; i++) {
+            ordinals[i] = 99 - i;
+        }
+    }
+
+    @Test
+    public void create_loadsTheWindowAroundTheTop() {
+        PagedProblemList<String> list = PagedProblemList.create(config, ordinals, null, -1);
+
+        assertEquals(100, list.size());
+        assertEquals("problem 99", list.get(0));
+        assertEquals("problem 80", list.get(19));
+        // Placeholder until its page is loaded
+        assertNull(list.get(20));
+        assertEquals(20, loaded);
+        assertTrue(loads.isEmpty());
+    }
+
+    @Test
+    public void loadAround_loadsPagesInTheBackgroundAndDeliversOnMain() {
+        PagedProblemList<String> list = PagedProblemList.create(config, ordinals, null, -1);
+        list.loadAround(55);
+
+        assertNull(list.get(55));
+        assertEquals(3, loads.size());
+        // Already requested pages are not requested again
+        list.loadAround(56);
+        assertEquals(3, loads.size());
+
+        runLoads();
+        assertNull(list.get(55));
+        runDeliveries();
+        assertEquals("problem 44", list.get(55));
+        assertEquals("problem 54", list.get(45));
+        assertEquals("problem 30", list.get(69));
+    }
+
+    @Test
+    public void loadAround_dropsTheFarthestPagesBeyondTheLimit() {
+        PagedProblemList<String> list = PagedProblemList.create(config, ordinals, null, -1);
+        list.loadAround(55);
+        runLoads();
+        runDeliveries();
+        assertNotNull(list.get(0));
+
+        list.loadAround(95);
+        runLoads();
+        runDeliveries();
+        // Pages 8 and 9 arrived; pages 0 and 1 were the farthest
+        assertNotNull(list.get(95));
+        assertNull(list.get(0));
+        assertNull(list.get(15));
+        assertNotNull(list.get(45));
+    }
+
+    @Test
+    public void trimMemory_keepsOnlyTheWindowOfTheLastBoundRow() {
+        PagedProblemList<String> list = PagedProblemList.create(config, ordinals, null, -1);
+        list.loadAround(35);
+        runLoads();
+        runDeliveries();
+        assertNotNull(list.get(5));
+
+        list.trimMemory();
+        assertNull(list.get(5));
+        assertNull(list.get(15));
+        assertNotNull(list.get(25));
+        assertNotNull(list.get(45));
+
+        // Dropped pages load again when their rows are bound
+        list.loadAround(5);
+        runLoads();
+        runDeliveries();
+        assertEquals("problem 94", list.get(5));
+    }
+
+    @Test
+    public void detach_stopsLoadingAndDelivering() {
+        PagedProblemList<String> list = PagedProblemList.create(config, ordinals, null, -1);
+        list.loadAround(55);
+        int before = loaded;
+
+        list.detach();
+        runLoads();
+        runDeliveries();
+        assertEquals(before, loaded);
+        assertNull(list.get(55));
+    }
+
+    @Test
+    public void of_hasEveryProblemLoaded() {
+        PagedProblemList<String> list = PagedProblemList.of(Arrays.asList("a", "b", "c"));
+
+        assertEquals(3, list.size());
+        assertEquals("c", list.get(2));
+        list.loadAround(2);
+        list.trimMemory();
+        assertEquals("a", list.get(0));
+        assertEquals(0, PagedProblemList.of(Arrays.asList()).size());
+    }
+
+    @Test
+    public void worthDiffing_onlyWhenRowsKeepTheirOrder() {
+        int[] shown = {5, 3, 8, 1, 9, 2};
+
+        // Narrowing and widening a filter keep the order
+        assertTrue(PagedProblemList.worthDiffing(shown, new int[] {5, 8, 1, 9, 2}));
+        assertTrue(PagedProblemList.worthDiffing(shown, new int[] {5, 3, 7, 8, 1, 9, 2}));
+        assertTrue(PagedProblemList.worthDiffing(shown, shown));
+        // A new sort order is a permutation
+        assertFalse(PagedProblemList.worthDiffing(shown, new int[] {1, 2, 3, 5, 8, 9}));
+        assertFalse(PagedProblemList.worthDiffing(shown, new int[] {5, 3, 8, 1, 2, 9}));
+        // Most rows removed
+        assertFalse(PagedProblemList.worthDiffing(shown, new int[] {3, 9}));
+        assertFalse(PagedProblemList.worthDiffing(new int[0], shown));
+        assertTrue(PagedProblemList.worthDiffing(new int[0], new int[0]));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void config_mustKeepThePrefetchWindow() {
+        new PagedProblemList.Config<String>(ordinal -> null, loadExecutor, mainExecutor, 10, 25, 6);
+    }
+
+    private void runLoads() {
+        while (!loads.isEmpty()) {
+            loads.poll().run();
+        }
+    }
+
+    private void runDeliveries() {
+        while (!deliveries.isEmpty()) {
+            deliveries.poll().run();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.codestreak.problems;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the dictionaries behind the compact problem model and for how
+ * problems share what they intern.
+ */
+public class ProblemDictionaryTest {
+    @Test
+    public void difficulties_areByteCodes() {
+        assertEquals(ProblemDictionary.EASY, ProblemDictionary.difficultyCode("Easy"));
+        assertEquals(ProblemDictionary.HARD, ProblemDictionary.difficultyCode("hard"));
+        assertEquals(ProblemDictionary.MEDIUM, ProblemDictionary.difficultyCode("Unknown"));
+        assertEquals(ProblemDictionary.MEDIUM, ProblemDictionary.difficultyCode(null));
+        assertEquals("Hard", ProblemDictionary.difficultyName(ProblemDictionary.HARD));
+    }
+
+    @Test
+    public void names_areInternedByContent() {
+        ProblemDictionary.Names topics = ProblemDictionary.names(Arrays.asList("Array", "Hash Table"));
+
+        assertSame(topics, ProblemDictionary.names(Arrays.asList("Array", "Hash Table")));
+        assertNotSame(topics, ProblemDictionary.names(Arrays.asList("Hash Table", "Array")));
+        assertEquals("Array, Hash Table", topics.label());
+        assertEquals("Hash Table", ProblemDictionary.name(topics.idAt(1)));
+        assertSame(ProblemDictionary.Names.EMPTY, ProblemDictionary.names(Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void labels_areSplitIntoTheSameNames() {
+        ProblemDictionary.Names companies = ProblemDictionary.names(Arrays.asList("Amazon", "Google"));
+
+        assertSame(companies, ProblemDictionary.names("Amazon, Google"));
+        assertSame(companies, ProblemDictionary.names(" Amazon,Google, "));
+        assertSame(ProblemDictionary.Names.EMPTY, ProblemDictionary.names(" "));
+    }
+
+    @Test
+    public void slugs_followLeetCodeTitles() {
+        assertEquals("two-sum", ProblemDictionary.slugOf("Two Sum"));
+        assertEquals("reverse-nodes-in-k-group", ProblemDictionary.slugOf("Reverse Nodes in k-Group"));
+        assertEquals("range-sum-query-immutable", ProblemDictionary.slugOf("Range Sum Query - Immutable"));
+        assertEquals("powx-n", ProblemDictionary.slugOf("Pow(x, n)"));
+        assertEquals("insert-delete-getrandom-o1", ProblemDictionary.slugOf("Insert Delete GetRandom O(1)"));
+        assertEquals("pascals-triangle", ProblemDictionary.slugOf("Pascal's Triangle"));
+    }
+
+    @Test
+    public void problems_shareInternedValues() {
+        Problem fromCatalog = new Problem(1, "Two Sum", "two-sum", "Easy", 49.1,
+                "Amazon, Google", Arrays.asList("Array", "Hash Table"));
+        Problem fromDataset = new Problem(1, new String("Two Sum"), "Easy", 49.1,
+                Arrays.asList("Amazon", "Google"), Arrays.asList("Array", "Hash Table"));
+
+        assertSame(fromCatalog.getTitle(), fromDataset.getTitle());
+        assertSame(fromCatalog.getTopics(), fromDataset.getTopics());
+        assertSame(fromCatalog.getCompanyList(), fromDataset.getCompanyList());
+        assertEquals("two-sum", fromDataset.getTitleSlug());
+        assertEquals("Amazon, Google", fromCatalog.getCompanies());
+        assertEquals("Amazon", fromCatalog.getCompany());
+        assertEquals(ProblemDictionary.EASY, fromCatalog.getDifficultyCode());
+    }
+
+    @Test
+    public void problems_keepSlugsThatAreNotDerived() {
+        Problem problem = new Problem(8, "String to Integer (atoi)", "string-to-integer-atoi-v2", "Medium", 18.2,
+                "", Collections.<String>emptyList());
+
+        assertEquals("string-to-integer-atoi-v2", problem.getTitleSlug());
+        assertEquals("", problem.getCompanies());
+        assertTrue(problem.getTopics().isEmpty());
+    }
+}
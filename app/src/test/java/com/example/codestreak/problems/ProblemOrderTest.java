@@ -0,0 +1,86 @@
+package com.example.codestreak.problems;
+
+import org.junit.Test;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.BitSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the ordinal permutations behind the problem sort orders.
+ */
+public class ProblemOrderTest {
+    private static final int[] IDS = {5, 1, 4, 2, 3};
+    private static final String[] DIFFICULTIES = {"Hard", "Easy", "Medium", "Easy", "Hard"};
+    private static final String[] TITLES = {"Cherry", "Apple", "avocado", "apple", "Banana"};
+    private static final double[] ACCEPTANCE = {30.5, 49.1, 30.5, 62.0, 12.3};
+
+    private final ProblemOrder.Keys keys = new ProblemOrder.Keys() {
+        private final Collator collator = ProblemOrder.newTitleCollator();
+
+        @Override
+        public int id(int ordinal) {
+            return IDS[ordinal];
+        }
+
+        @Override
+        public int difficultyRank(int ordinal) {
+            return ProblemOrder.difficultyRank(DIFFICULTIES[ordinal]);
+        }
+
+        @Override
+        public CollationKey titleKey(int ordinal) {
+            return collator.getCollationKey(TITLES[ordinal]);
+        }
+
+        @Override
+        public double acceptanceRate(int ordinal) {
+            return ACCEPTANCE[ordinal];
+        }
+    };
+
+    @Test
+    public void labels_mapToOrders() {
+        assertEquals(ProblemOrder.TITLE_DESC, ProblemOrder.fromLabel("Z-A"));
+        assertEquals(ProblemOrder.ACCEPTANCE_ASC, ProblemOrder.fromLabel("Acceptance Asc"));
+        assertEquals(ProblemOrder.ID, ProblemOrder.fromLabel("Default"));
+        assertEquals(ProblemOrder.ID, ProblemOrder.fromLabel("Unknown"));
+    }
+
+    @Test
+    public void sort_breaksTiesByOrdinalInBothDirections() {
+        assertArrayEquals(new int[] {1, 3, 2, 0, 4}, ProblemOrder.EASY_TO_HARD.sort(keys, 5));
+        // Like a stable descending sort, equal keys keep ordinal order
+        assertArrayEquals(new int[] {0, 4, 2, 1, 3}, ProblemOrder.HARD_TO_EASY.sort(keys, 5));
+        assertArrayEquals(new int[] {4, 0, 2, 1, 3}, ProblemOrder.ACCEPTANCE_ASC.sort(keys, 5));
+        assertArrayEquals(new int[] {1, 3, 4, 2, 0}, ProblemOrder.ID.sort(keys, 5));
+    }
+
+    @Test
+    public void titles_sortCaseInsensitively() {
+        // "Apple" and "apple" only differ in case, so they tie and keep ordinal order
+        assertArrayEquals(new int[] {1, 3, 2, 4, 0}, ProblemOrder.TITLE_ASC.sort(keys, 5));
+        assertArrayEquals(new int[] {0, 4, 2, 1, 3}, ProblemOrder.TITLE_DESC.sort(keys, 5));
+    }
+
+    @Test
+    public void merge_matchesFullSort() {
+        for (ProblemOrder order : ProblemOrder.values()) {
+            int[] firstPage = order.sort(keys, 3);
+            int[] merged = order.merge(keys, firstPage, new int[] {4, 3});
+            assertArrayEquals(order.name(), order.sort(keys, 5), merged);
+        }
+    }
+
+    @Test
+    public void select_keepsPermutationOrder() {
+        BitSet selection = new BitSet();
+        selection.set(0);
+        selection.set(3);
+        selection.set(4);
+        assertArrayEquals(new int[] {4, 0, 3},
+                ProblemOrder.select(ProblemOrder.ACCEPTANCE_ASC.sort(keys, 5), selection));
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.codestreak.problems;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for the starred problem store: membership, id snapshots, coalesced
+ * writes and the import of stars saved in preferences. Writes are queued so the tests
+ * decide when they run.
+ */
+public class RevisionStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ArrayDeque<Runnable> writes = new ArrayDeque<>();
+    private final List<String> changes = new ArrayList<>();
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = new File(folder.getRoot(), "revision_store.bin");
+    }
+
+    @Test
+    public void membership_isByIdNotBySubstring() {
+        RevisionStore store = newStore();
+        store.setStarred(problem(123), true);
+
+        assertTrue(store.isStarred(123));
+        assertFalse(store.isStarred(12));
+        assertFalse(store.isStarred(23));
+    }
+
+    @Test
+    public void starredIds_areImmutableSnapshots() {
+        RevisionStore store = newStore();
+        store.setStarred(problem(3), true);
+        RevisionStore.StarredIds before = store.starredIds();
+        assertSame(before, store.starredIds());
+
+        store.setStarred(problem(64), true);
+        RevisionStore.StarredIds after = store.starredIds();
+        assertNotSame(before, after);
+        assertFalse(before.contains(64));
+        assertTrue(after.contains(64));
+        assertTrue(after.contains(3));
+        assertFalse(after.contains(-1));
+        assertEquals(2, after.size());
+
+        // Refreshing a starred problem's record is not a change
+        store.setStarred(problem(64), true);
+        assertSame(after, store.starredIds());
+    }
+
+    @Test
+    public void problems_keepStarringOrder() {
+        RevisionStore store = newStore();
+        store.setStarred(problem(7), true);
+        store.setStarred(problem(2), true);
+        store.setStarred(problem(9), true);
+        store.setStarred(problem(2), false);
+
+        assertEquals(Arrays.asList(7, 9), ids(store.getProblems()));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void toggles_areWrittenOnceAndReadBack() {
+        RevisionStore store = newStore();
+        store.toggle(problem(1));
+        store.toggle(problem(2));
+        store.toggle(problem(1));
+        store.toggle(problem(3));
+
+        assertEquals(1, writes.size());
+        assertFalse(file.exists());
+        runWrites();
+
+        RevisionStore reopened = newStore();
+        assertEquals(Arrays.asList(2, 3), ids(reopened.getProblems()));
+        Problem read = reopened.getProblems().get(0);
+        assertEquals("Problem 2", read.getTitle());
+        assertEquals("problem-2", read.getTitleSlug());
+        assertEquals("Hard", read.getDifficulty());
+        assertEquals(42.5, read.getAcceptanceRate(), 0.0);
+        assertEquals("Google, Amazon", read.getCompanies());
+        assertEquals(Arrays.asList("Array", "Hash Table"), read.getTopics());
+
+        // A write after the first one was flushed is scheduled again
+        store.toggle(problem(4));
+        assertEquals(1, writes.size());
+    }
+
+    @Test
+    public void listeners_hearOnlyRealChanges() {
+        RevisionStore store = newStore();
+        store.addListener((problemId, starred) -> changes.add(problemId + ":" + starred));
+
+        assertTrue(store.setStarred(problem(5), true));
+        assertFalse(store.setStarred(problem(5), true));
+        assertFalse(store.setStarred(problem(6), false));
+        assertTrue(store.setStarred(problem(5), false));
+
+        assertEquals(Arrays.asList("5:true", "5:false"), changes);
+    }
+
+    @Test
+    public void legacyPreferences_areImportedWithEveryStarredId() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("starred_problems_list", "123,45");
+        values.put("starred_123", true);
+        values.put("starred_title_123", "Problem 123");
+        values.put("starred_acceptance_123", 51.5f);
+        values.put("starred_topics_123", "Array, Math");
+        values.put("starred_45", true);
+        // Starred after 123, so the list check skipped it
+        values.put("starred_12", true);
+        values.put("starred_slug_12", "problem-12");
+        // Left over from an unstar
+        values.put("starred_9", false);
+        values.put("starred_title_9", "Problem 9");
+        values.put("theme", "dark");
+
+        RevisionStore store = newStore();
+        Set<String> legacyKeys = store.importLegacy(values);
+
+        assertEquals(Arrays.asList(123, 45, 12), ids(store.getProblems()));
+        Problem imported = store.getProblems().get(0);
+        assertEquals("Problem 123", imported.getTitle());
+        assertEquals(51.5, imported.getAcceptanceRate(), 0.0);
+        assertEquals(Arrays.asList("Array", "Math"), imported.getTopics());
+        assertEquals("Unknown Problem", store.getProblems().get(1).getTitle());
+        assertEquals("Medium", store.getProblems().get(1).getDifficulty());
+        assertFalse(store.isStarred(9));
+
+        assertEquals(values.size() - 1, legacyKeys.size());
+        assertFalse(legacyKeys.contains("theme"));
+        // Saved before the keys are removed
+        assertTrue(writes.isEmpty());
+        assertEquals(3, newStore().size());
+    }
+
+    @Test
+    public void unreadableFile_startsEmpty() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[] {1, 2, 3});
+        }
+
+        RevisionStore store = newStore();
+        assertEquals(0, store.size());
+        assertFalse(file.exists());
+    }
+
+    private RevisionStore newStore() {
+        return new RevisionStore(file, writes::add, Runnable::run);
+    }
+
+    private void runWrites() {
+        while (!writes.isEmpty()) {
+            writes.poll().run();
+        }
+    }
+
+    private static Problem problem(int id) {
+        return new Problem(id, "Problem " + id, "problem-" + id, "Hard", 42.5,
+                "Google, Amazon", Arrays.asList("Array", "Hash Table"));
+    }
+
+    private static List<Integer> ids(List<Problem> problems) {
+        List<Integer> ids = new ArrayList<>();
+        for (Problem problem : problems) {
+            ids.add(problem.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.codestreak.stats;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Microbenchmark comparing StreakEngine with the previous Calendar/HashSet based
+ * streak calculation. Prints timings; skipped unless benchmarks are asked for:
+ * ./gradlew testDebugUnitTest -Pbenchmarks --tests '*Benchmark'
+ */
+public class StreakEngineBenchmark {
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 1000;
+
+    @Before
+    public void requireBenchmarks() {
+        assumeTrue("Benchmarks run with -Pbenchmarks", Boolean.getBoolean("benchmarks"));
+    }
+
+    @Test
+    public void benchmark_fiveYearCalendar() {
+        long today = SubmissionIndex.epochDay(2025, 5, 15);
+        long[] days = StreakEngineTest.randomHistory(new Random(1), today - 5 * 365, today, 0.8);
+        long[] timestamps = new long[days.length];
+        for (int i = 0; i < days.length; i++) {
+            timestamps[i] = days[i] * 86400L;
+        }
+
+        int engineResult = 0;
+        int legacyResult = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            engineResult = StreakEngine.fromDays(days).getLongestStreak();
+            legacyResult = legacyLongestStreak(timestamps);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            engineResult = StreakEngine.fromDays(days).getLongestStreak();
+        }
+        long engineNanos = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            legacyResult = legacyLongestStreak(timestamps);
+        }
+        long legacyNanos = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        StreakEngine engine = StreakEngine.fromDays(java.util.Arrays.copyOf(days, days.length - 1));
+        start = System.nanoTime();
+        engine.appendDays(days);
+        long incrementalNanos = System.nanoTime() - start;
+
+        System.out.println("StreakEngine benchmark (" + days.length + " active days): engine "
+                + engineNanos + " ns/op, legacy " + legacyNanos + " ns/op, incremental append "
+                + incrementalNanos + " ns");
+        assertEquals(legacyResult, engineResult);
+    }
+
+    /**
+     * Longest streak as previously computed in ModernMainActivity
+     */
+    private static int legacyLongestStreak(long[] timestamps) {
+        List<Long> sorted = new ArrayList<>();
+        for (long ts : timestamps) {
+            sorted.add(ts);
+        }
+        Collections.sort(sorted, Collections.reverseOrder());
+
+        Set<Long> uniqueDays = new HashSet<>();
+        for (long ts : sorted) {
+            Calendar subDate = Calendar.getInstance(java.util.TimeZone.getTimeZone("UTC"));
+            subDate.setTimeInMillis(ts * 1000);
+            subDate.set(Calendar.HOUR_OF_DAY, 0);
+            subDate.set(Calendar.MINUTE, 0);
+            subDate.set(Calendar.SECOND, 0);
+            subDate.set(Calendar.MILLISECOND, 0);
+            uniqueDays.add(subDate.getTimeInMillis() / 1000);
+        }
+
+        List<Long> allDays = new ArrayList<>(uniqueDays);
+        Collections.sort(allDays);
+
+        int tempStreak = 1;
+        int longest = 1;
+        for (int i = 1; i < allDays.size(); i++) {
+            if ((allDays.get(i) - allDays.get(i - 1)) / 86400 == 1) {
+                tempStreak++;
+                longest = Math.max(longest, tempStreak);
+            } else {
+                tempStreak = 1;
+            }
+        }
+        return longest;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.codestreak.stats;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for StreakEngine over synthetic multi-year calendars.
+ */
+public class StreakEngineTest {
+    private static final long TODAY = SubmissionIndex.epochDay(2025, 5, 15);
+
+    @Test
+    public void emptyHistory_hasNoStreaks() {
+        StreakEngine engine = StreakEngine.fromDays(new long[0]);
+
+        assertEquals(0, engine.getCurrentStreak(TODAY));
+        assertEquals(0, engine.getLongestStreak());
+        assertEquals(StreakEngine.NO_DAY, engine.getLongestStreakStart());
+    }
+
+    @Test
+    public void currentStreak_endingToday() {
+        StreakEngine engine = StreakEngine.fromDays(range(TODAY - 4, TODAY));
+
+        assertEquals(5, engine.getCurrentStreak(TODAY));
+        assertEquals(TODAY - 4, engine.getCurrentStreakStart(TODAY));
+        assertEquals(TODAY, engine.getCurrentStreakEnd(TODAY));
+    }
+
+    @Test
+    public void currentStreak_endingYesterdayIsStillAlive() {
+        StreakEngine engine = StreakEngine.fromDays(range(TODAY - 3, TODAY - 1));
+
+        assertEquals(3, engine.getCurrentStreak(TODAY));
+    }
+
+    @Test
+    public void currentStreak_brokenAfterMissedDay() {
+        StreakEngine engine = StreakEngine.fromDays(range(TODAY - 10, TODAY - 2));
+
+        assertEquals(0, engine.getCurrentStreak(TODAY));
+        assertEquals(9, engine.getLongestStreak());
+    }
+
+    @Test
+    public void longestStreak_reportsStartAndEnd() {
+        long[] days = concat(range(TODAY - 400, TODAY - 390), range(TODAY - 100, TODAY - 60), range(TODAY - 1, TODAY));
+        StreakEngine engine = StreakEngine.fromDays(days);
+
+        assertEquals(41, engine.getLongestStreak());
+        assertEquals(TODAY - 100, engine.getLongestStreakStart());
+        assertEquals(TODAY - 60, engine.getLongestStreakEnd());
+        assertEquals(2, engine.getCurrentStreak(TODAY));
+    }
+
+    @Test
+    public void duplicateDays_areIgnored() {
+        StreakEngine engine = StreakEngine.fromDays(new long[]{TODAY - 2, TODAY - 2, TODAY - 1, TODAY - 1, TODAY});
+
+        assertEquals(3, engine.getCurrentStreak(TODAY));
+        assertEquals(3, engine.getLongestStreak());
+    }
+
+    @Test
+    public void addDay_rejectsOutOfOrderDays() {
+        StreakEngine engine = StreakEngine.fromDays(range(TODAY - 5, TODAY));
+
+        assertFalse(engine.addDay(TODAY - 10));
+        assertEquals(6, engine.getCurrentStreak(TODAY));
+    }
+
+    @Test
+    public void appendDays_matchesFullRecompute() {
+        long[] history = randomHistory(new Random(42), TODAY - 5 * 365, TODAY, 0.7);
+        int split = history.length * 3 / 4;
+
+        StreakEngine incremental = StreakEngine.fromDays(Arrays.copyOf(history, split));
+        int applied = incremental.appendDays(history);
+        StreakEngine full = StreakEngine.fromDays(history);
+
+        assertEquals(history.length - split, applied);
+        assertEquals(full.getCurrentStreak(TODAY), incremental.getCurrentStreak(TODAY));
+        assertEquals(full.getLongestStreak(), incremental.getLongestStreak());
+        assertEquals(full.getLongestStreakStart(), incremental.getLongestStreakStart());
+        assertEquals(full.getLongestStreakEnd(), incremental.getLongestStreakEnd());
+    }
+
+    @Test
+    public void multiYearCalendar_matchesNaiveScan() {
+        Random random = new Random(7);
+        for (int run = 0; run < 50; run++) {
+            long[] history = randomHistory(random, TODAY - 3 * 365, TODAY, random.nextDouble());
+            StreakEngine engine = StreakEngine.fromDays(history);
+
+            assertEquals(naiveLongest(history), engine.getLongestStreak());
+            assertEquals(naiveCurrent(history, TODAY), engine.getCurrentStreak(TODAY));
+        }
+    }
+
+    @Test
+    public void submissionIndex_feedsEngineInDayOrder() {
+        long[] timestamps = {
+                (TODAY - 1) * 86400L,
+                TODAY * 86400L,
+                (TODAY - 2) * 86400L,
+                (TODAY - 30) * 86400L
+        };
+        SubmissionIndex index = SubmissionIndex.fromTimestamps(
+                timestamps, new int[]{1, 4, 2, 3}, timestamps.length, java.util.TimeZone.getTimeZone("UTC"));
+        StreakEngine engine = StreakEngine.fromDays(index.getActiveDays());
+
+        assertEquals(3, engine.getCurrentStreak(TODAY));
+        assertEquals(10, index.getTotalSubmissions());
+    }
+
+    static long[] range(long from, long to) {
+        long[] days = new long[(int) (to - from + 1)];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = from + i;
+        }
+        return days;
+    }
+
+    static long[] randomHistory(Random random, long from, long to, double activeProbability) {
+        long[] days = new long[(int) (to - from + 1)];
+        int n = 0;
+        for (long day = from; day <= to; day++) {
+            if (random.nextDouble() < activeProbability) {
+                days[n++] = day;
+            }
+        }
+        return Arrays.copyOf(days, n);
+    }
+
+    private static long[] concat(long[]... parts) {
+        long[] result = new long[0];
+        for (long[] part : parts) {
+            int offset = result.length;
+            result = Arrays.copyOf(result, offset + part.length);
+            System.arraycopy(part, 0, result, offset, part.length);
+        }
+        return result;
+    }
+
+    private static int naiveLongest(long[] days) {
+        int longest = 0;
+        for (int i = 0; i < days.length; i++) {
+            int length = 1;
+            while (i + length < days.length && days[i + length] == days[i] + length) {
+                length++;
+            }
+            longest = Math.max(longest, length);
+        }
+        return longest;
+    }
+
+    private static int naiveCurrent(long[] days, long today) {
+        if (days.length == 0 || days[days.length - 1] < today - 1) {
+            return 0;
+        }
+        int length = 1;
+        for (int i = days.length - 1; i > 0 && days[i - 1] == days[i] - 1; i--) {
+            length++;
+        }
+        return length;
+    }
+}